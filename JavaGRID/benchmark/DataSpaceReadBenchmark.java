@@ -0,0 +1,136 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+import javagrid.common.DataResult;
+import javagrid.interfaces.TaskSpaceInt;
+import javagrid.worker.DataSpaceReader;
+
+/**
+ * Measures the item throughput of a task of a DataSpace job, whose inputs are taken from the TaskSpace over RMI on loopback
+ * with a simulated network latency on each call.  Inputs are first taken one item per call, as the Worker did before, then
+ * through the DataSpaceReader, a block per call with the next block read while the current one is computed, and lastly
+ * from a list in local memory, as the best the Worker could do.  Each item does a little work, as a job's computation would.
+ */
+public class DataSpaceReadBenchmark {
+
+	private static final int ITEMS = 200000;
+	private static final int SINGLE_ITEMS = 1000;
+
+	// simulated one way network latency of each RMI call, in nanoseconds
+	private static final long LATENCY = 1000000;
+
+	private static ArrayList<DataResult> dataSpace = new ArrayList<DataResult>();
+
+	public static void main(String[] args) throws Exception {
+
+		for (int i = 0; i < ITEMS; i++) {
+			String value = "Item" + i;
+			dataSpace.add(new DataResult(i, value, value));
+		}
+
+		// stands in for the TaskSpace, answering only takeData and takeDataRange
+		InvocationHandler handler = new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				LockSupport.parkNanos(LATENCY * 2);
+				if (method.getName().equals("takeData")) {
+					return dataSpace.get((int) (long) (Long) args[1]);
+				} else if (method.getName().equals("takeDataRange")) {
+					long start = (Long) args[1];
+					long end = (Long) args[2];
+					Object[] items = new Object[(int) (end - start + 1)];
+					for (long key = start; key <= end; key++) {
+						items[(int) (key - start)] = dataSpace.get((int) key).getTheObject();
+					}
+					return items;
+				}
+				throw new RemoteException("Not supported by the benchmark: " + method.getName());
+			}
+		};
+		TaskSpaceInt server = (TaskSpaceInt) Proxy.newProxyInstance(TaskSpaceInt.class.getClassLoader(),
+				new Class<?>[] { TaskSpaceInt.class }, handler);
+		TaskSpaceInt taskSpace = (TaskSpaceInt) UnicastRemoteObject.exportObject(server, 0);
+		ExecutorService executor = Executors.newCachedThreadPool();
+
+		//warm up
+		readAhead(taskSpace, executor);
+		local();
+		System.out.println("Warmed up");
+
+		long checksum = 0;
+		long startTime = System.nanoTime();
+		for (int i = 0; i < SINGLE_ITEMS; i++) {
+			checksum = checksum + compute(taskSpace.takeData("Benchmark", i).getTheObject());
+		}
+		long endTime = System.nanoTime();
+		System.out.println("One item per call:    " + rate(SINGLE_ITEMS, startTime, endTime) + " items/sec");
+
+		startTime = System.nanoTime();
+		checksum = checksum + readAhead(taskSpace, executor);
+		endTime = System.nanoTime();
+		System.out.println("Blocks, read ahead:   " + rate(ITEMS, startTime, endTime) + " items/sec, " + DataSpaceReader.BLOCK_SIZE
+				+ " items per call");
+
+		startTime = System.nanoTime();
+		checksum = checksum + local();
+		endTime = System.nanoTime();
+		System.out.println("Local memory:         " + rate(ITEMS, startTime, endTime) + " items/sec");
+		System.out.println("(checksum " + checksum + ")");
+
+		executor.shutdown();
+		UnicastRemoteObject.unexportObject(server, true);
+	}
+
+	private static long readAhead(TaskSpaceInt taskSpace, ExecutorService executor) throws RemoteException {
+
+		DataSpaceReader reader = new DataSpaceReader(taskSpace, "Benchmark", 0, ITEMS - 1, DataSpaceReader.BLOCK_SIZE, executor);
+		long checksum = 0;
+		for (long i = 0; i < ITEMS; i++) {
+			checksum = checksum + compute(reader.read(i));
+		}
+		reader.close();
+		return checksum;
+	}
+
+	private static long local() {
+
+		long checksum = 0;
+		for (int i = 0; i < ITEMS; i++) {
+			checksum = checksum + compute(dataSpace.get(i).getTheObject());
+		}
+		return checksum;
+	}
+
+	// a few microseconds of work per item
+	private static long compute(Object input) {
+
+		long hash = input.hashCode();
+		for (int i = 0; i < 2000; i++) {
+			hash = hash * 31 + i;
+		}
+		return hash;
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
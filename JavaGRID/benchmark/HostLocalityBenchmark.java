@@ -0,0 +1,196 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javagrid.common.Task;
+import javagrid.taskspace.HostPlacement;
+import javagrid.taskspace.StaticScheduler;
+import javagrid.taskspace.TaskCursor;
+
+/**
+ * Measures the input-read throughput of Workers spread over several hosts, first with tasks claimed in arrival order from the
+ * TaskCursor and then with the HostPlacement policy.  Throughput counts only the time Workers spend reading their items,
+ * between which each Worker computes for a short while.  Every host reads the shared input file through its own page cache,
+ * modelled as an LRU set of 4 KB pages which reads ahead 128 KB on a miss, as the kernel does for sequential reads.  All
+ * simulated hosts run in this JVM, so the bytes each host reads from disk are counted by the model rather than measured.
+ */
+public class HostLocalityBenchmark {
+
+	private static final int HOSTS = 4;
+	private static final int WORKERS_PER_HOST = 4;
+	private static final int ITEMS = 400000;
+	private static final int ITEM_SIZE = 256;
+	private static final int GRANULARITY = 64;
+
+	private static final int PAGE_SIZE = 4096;
+	private static final int READ_AHEAD_PAGES = 32;
+	private static final int CACHE_PAGES = 8192;
+
+	// time each Worker spends computing on a task once its items are read, in nanoseconds
+	private static final long COMPUTE_TIME = 200000;
+
+	public static void main(String[] args) throws Exception {
+
+		File input = File.createTempFile("HostLocalityBenchmark", ".jgf");
+		input.deleteOnExit();
+		try (RandomAccessFile raf = new RandomAccessFile(input, "rw")) {
+			raf.setLength((long) ITEMS * ITEM_SIZE);
+		}
+
+		System.out.println(HOSTS + " hosts x " + WORKERS_PER_HOST + " Workers, " + ITEMS + " items of " + ITEM_SIZE
+				+ " bytes, tasks of " + GRANULARITY + " items");
+
+		for (int run = 0; run < 2; run++) {
+			run(input, false);
+			run(input, true);
+		}
+	}
+
+	private static void run(File input, boolean locality) throws Exception {
+
+		TaskCursor cursor = new TaskCursor();
+		HostPlacement placement = new HostPlacement(cursor);
+		placement.setIndexLimit(ITEMS);
+		StaticScheduler scheduler = new StaticScheduler(GRANULARITY);
+		cursor.open(0);
+
+		List<PageCache> caches = new ArrayList<PageCache>();
+		List<Thread> workers = new ArrayList<Thread>();
+		AtomicLong itemsRead = new AtomicLong();
+		AtomicLong readTime = new AtomicLong();
+
+		try (RandomAccessFile raf = new RandomAccessFile(input, "r")) {
+			FileChannel channel = raf.getChannel();
+
+			for (int h = 0; h < HOSTS; h++) {
+				String hostname = "host" + h;
+				PageCache cache = new PageCache(channel);
+				caches.add(cache);
+
+				for (int w = 0; w < WORKERS_PER_HOST; w++) {
+					String uuid = hostname + "-worker" + w;
+					workers.add(new Thread(new Runnable() {
+						public void run() {
+							while (true) {
+								Task theTask = locality ? placement.claim(uuid, hostname, scheduler)
+										: cursor.claim(uuid, scheduler);
+								if (theTask == null || theTask.getStartIndex() >= ITEMS) {
+									return;
+								}
+								long endIndex = Math.min(theTask.getEndIndex(), ITEMS - 1);
+								long readStart = System.nanoTime();
+								for (long i = theTask.getStartIndex(); i <= endIndex; i++) {
+									cache.read(i * ITEM_SIZE);
+								}
+								readTime.addAndGet(System.nanoTime() - readStart);
+								itemsRead.addAndGet(endIndex - theTask.getStartIndex() + 1);
+								LockSupport.parkNanos(COMPUTE_TIME);
+							}
+						}
+					}));
+				}
+			}
+
+			for (Thread worker : workers) {
+				worker.start();
+			}
+			for (Thread worker : workers) {
+				worker.join();
+			}
+
+			// the read time of the Workers is spread over the hosts, as they read in parallel
+			long elapsed = readTime.get() / workers.size();
+
+			long diskBytes = 0;
+			long hits = 0;
+			long lookups = 0;
+			for (PageCache cache : caches) {
+				diskBytes = diskBytes + cache.diskBytes;
+				hits = hits + cache.hits;
+				lookups = lookups + cache.lookups;
+			}
+			long inputBytes = (long) ITEMS * ITEM_SIZE;
+
+			System.out.println((locality ? "HostPlacement:  " : "Arrival order:  ") + itemsRead.get() + " items, "
+					+ rate(itemsRead.get(), elapsed) + " items/sec, "
+					+ rate(inputBytes / (1024 * 1024), elapsed) + " MB/sec of input, "
+					+ (diskBytes / (1024 * 1024)) + " MB read from disk (" + ratio(diskBytes, inputBytes) + "x the input), "
+					+ ratio(hits * 100, lookups) + "% page cache hits");
+		}
+	}
+
+	private static BigDecimal rate(long count, long elapsed){
+	    BigDecimal bd = new BigDecimal(count / (elapsed / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+	private static BigDecimal ratio(long count, long total){
+	    BigDecimal bd = new BigDecimal((double) count / Math.max(1, total));
+	    return bd.setScale(2, RoundingMode.HALF_UP);
+	}
+
+	/**
+	 * the page cache of one host.  A miss reads the page and the pages after it from the file in one call
+	 */
+	private static class PageCache {
+
+		private FileChannel channel;
+		private Map<Long, Boolean> pages = new LinkedHashMap<Long, Boolean>(CACHE_PAGES, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+				return size() > CACHE_PAGES;
+			}
+		};
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(PAGE_SIZE * READ_AHEAD_PAGES);
+		private long diskBytes;
+		private long hits;
+		private long lookups;
+
+		PageCache(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		synchronized void read(long offset) {
+
+			long page = offset / PAGE_SIZE;
+			lookups++;
+			if (pages.get(page) != null) {
+				hits++;
+				return;
+			}
+
+			try {
+				buffer.clear();
+				int read = channel.read(buffer, page * PAGE_SIZE);
+				for (long p = page; read > 0 && p < page + ((read + PAGE_SIZE - 1) / PAGE_SIZE); p++) {
+					pages.put(p, Boolean.TRUE);
+				}
+				diskBytes = diskBytes + Math.max(0, read);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+}
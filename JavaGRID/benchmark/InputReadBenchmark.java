@@ -0,0 +1,106 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import javagrid.utils.InputIndex;
+import javagrid.utils.javaGridFile;
+
+/**
+ * Measures how fast a Worker slot reads the items of a jgf input file, first through SQLite with a query for each item, as
+ * the Worker did before, and then through the memory mapped sidecar index built by javaGridFile.index.  Items are read in
+ * index order, as a task's range is, and at random, each on its own and with an MD5 of the item as a cheap computation.
+ * Needs the SQLite JDBC driver on the classpath, as the Worker does.
+ */
+public class InputReadBenchmark {
+
+	private static final int ITEMS = 1000000;
+	private static final int SQLITE_READS = 200000;
+	private static final int INDEX_READS = 5000000;
+
+	public static void main(String[] args) throws Exception {
+
+		Path directory = Files.createTempDirectory("jgfbenchmark");
+		String baseDirectory = directory.toString() + File.separator;
+
+		javaGridFile writer = new javaGridFile(true, baseDirectory, "", "Inputs");
+		for (int i = 0; i < ITEMS; i++) {
+			writer.saveValue("Password" + i);
+		}
+		writer.commit();
+		writer.closeConnection();
+
+		MessageDigest md5 = MessageDigest.getInstance("MD5");
+
+		// no index has been built yet, so this reads through SQLite
+		javaGridFile sqlite = new javaGridFile(false, baseDirectory, "", "Inputs");
+		measure("SQLite", sqlite, SQLITE_READS, md5);
+		measure("SQLite", sqlite, SQLITE_READS, md5);
+
+		long startTime = System.nanoTime();
+		sqlite.index();
+		long endTime = System.nanoTime();
+		System.out.println("Index of " + ITEMS + " items built in " + new BigDecimal((endTime - startTime) / 1000000.0)
+				.setScale(0, RoundingMode.HALF_UP) + " ms, " + Files.size(InputIndex.indexPath(directory.resolve("Inputs.jgf")))
+				+ " bytes");
+		sqlite.closeConnection();
+
+		javaGridFile mapped = new javaGridFile(false, baseDirectory, "", "Inputs");
+		measure("Mapped", mapped, INDEX_READS, md5);
+		measure("Mapped", mapped, INDEX_READS, md5);
+		mapped.closeConnection();
+
+		Files.deleteIfExists(InputIndex.indexPath(directory.resolve("Inputs.jgf")));
+		Files.deleteIfExists(directory.resolve("Inputs.jgf"));
+		Files.deleteIfExists(directory);
+	}
+
+	private static void measure(String name, javaGridFile input, int reads, MessageDigest md5) {
+
+		long checksum = 0;
+
+		long startTime = System.nanoTime();
+		for (int i = 0; i < reads; i++) {
+			checksum = checksum + input.readValue(i % ITEMS).length();
+		}
+		long sequentialTime = System.nanoTime();
+
+		Random random = new Random(1);
+		for (int i = 0; i < reads; i++) {
+			checksum = checksum + input.readValue(random.nextInt(ITEMS)).length();
+		}
+		long randomTime = System.nanoTime();
+
+		for (int i = 0; i < reads; i++) {
+			checksum = checksum + md5.digest(input.readValue(i % ITEMS).getBytes(StandardCharsets.UTF_8))[0];
+		}
+		long md5Time = System.nanoTime();
+
+		System.out.println(name + ":  in order " + perItem(reads, startTime, sequentialTime) + " ns/item, at random "
+				+ perItem(reads, sequentialTime, randomTime) + " ns/item, in order with MD5 " + rate(reads, randomTime, md5Time)
+				+ " items/sec (checksum " + checksum + ")");
+	}
+
+	private static BigDecimal perItem(int count, long startTime, long endTime) {
+		return new BigDecimal((endTime - startTime) / (double) count).setScale(0, RoundingMode.HALF_UP);
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
@@ -0,0 +1,126 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.concurrent.locks.LockSupport;
+
+import javagrid.worker.ItemExecutor;
+
+/**
+ * Measures the item throughput of a DataSpace job whose items each take their input from the TaskSpace and add their result
+ * to the ResultSpace, over RMI on loopback with a simulated network latency on each call.  Items are first run one after the
+ * other, as an execution slot does, then through the ItemExecutor with increasing numbers of items in flight, and the number
+ * of live threads is sampled while they run.
+ */
+public class ItemConcurrencyBenchmark {
+
+	private static final int ITEMS = 4096;
+	private static final int SEQUENTIAL_ITEMS = 512;
+
+	// simulated one way network latency of each RMI call, in nanoseconds
+	private static final long LATENCY = 1000000;
+
+	/**
+	 * stands in for takeData and addResult on the TaskSpace
+	 */
+	public interface DataSpace extends Remote {
+		String takeData(long index) throws RemoteException;
+		void addResult(long index, String result) throws RemoteException;
+	}
+
+	private static class DataSpaceServer implements DataSpace {
+		public String takeData(long index) {
+			LockSupport.parkNanos(LATENCY * 2);
+			return "Item" + index;
+		}
+		public void addResult(long index, String result) {
+			LockSupport.parkNanos(LATENCY * 2);
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		DataSpaceServer server = new DataSpaceServer();
+		DataSpace dataSpace = (DataSpace) UnicastRemoteObject.exportObject(server, 0);
+
+		ItemExecutor.Item item = new ItemExecutor.Item() {
+			public Object compute(long index) throws Exception {
+				String result = Integer.toHexString(dataSpace.takeData(index).hashCode());
+				dataSpace.addResult(index, result);
+				return result;
+			}
+		};
+
+		//warm up
+		run(item, 64, ITEMS, false);
+		System.out.println("Warmed up");
+
+		long startTime = System.nanoTime();
+		for (int i = 0; i < SEQUENTIAL_ITEMS; i++) {
+			item.compute(i);
+		}
+		long endTime = System.nanoTime();
+		System.out.println("One at a time:    " + rate(SEQUENTIAL_ITEMS, startTime, endTime) + " items/sec, 1 thread");
+
+		for (int concurrency = 16; concurrency <= 256; concurrency = concurrency * 4) {
+			run(item, concurrency, ITEMS, true);
+		}
+
+		UnicastRemoteObject.unexportObject(server, true);
+	}
+
+	private static void run(ItemExecutor.Item item, int concurrency, int items, boolean print) throws InterruptedException {
+
+		ItemExecutor executor = new ItemExecutor(concurrency);
+		Object[] results = new Object[items];
+		boolean[] computed = new boolean[items];
+
+		// sample the live threads of the JVM while the items run
+		int[] peakThreads = new int[1];
+		Thread sampler = new Thread(new Runnable() {
+			public void run() {
+				while (!Thread.currentThread().isInterrupted()) {
+					peakThreads[0] = Math.max(peakThreads[0], Thread.activeCount());
+					LockSupport.parkNanos(1000000);
+				}
+			}
+		});
+		sampler.start();
+
+		long startTime = System.nanoTime();
+		executor.run(0, results, computed, item, () -> false);
+		long endTime = System.nanoTime();
+
+		sampler.interrupt();
+		sampler.join();
+		executor.shutdown();
+
+		int done = 0;
+		for (boolean c : computed) {
+			if (c) {
+				done++;
+			}
+		}
+		if (print) {
+			System.out.println(concurrency + " in flight:" + (concurrency < 100 ? "  " : " ") + "  " + rate(done, startTime, endTime)
+					+ " items/sec, peak "
+					+ peakThreads[0] + " live platform threads");
+		}
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Date;
+import java.util.Random;
+import java.util.UUID;
+
+import javagrid.common.Task;
+import javagrid.taskspace.TaskArchive;
+import javagrid.taskspace.TaskRegistry;
+
+/**
+ * Measures the heap held by the TaskSpace task registry after a job of a million tasks has finished, first keeping every task
+ * in memory, as the registry did before, and then archiving finished tasks to disk.  Each task is taken and returned as by
+ * takeTask and taskComplete, with a task id, Worker id, range and start and end times.  Then times random lookups of
+ * finished tasks by sequence number and by id, which are read from the archive in the second run.
+ */
+public class TaskHistoryMemoryBenchmark {
+
+	private static final int TASKS = 1000000;
+	private static final int WORKERS = 64;
+	private static final int LOOKUPS = 100000;
+
+	public static void main(String[] args) {
+
+		for (int run = 0; run < 2; run++) {
+			measure("Every task in memory: ", new TaskRegistry(null, 0));
+			measure("Archived to disk:     ", new TaskRegistry());
+		}
+	}
+
+	private static void measure(String name, TaskRegistry registry) {
+
+		long before = usedHeap();
+
+		long startTime = System.nanoTime();
+		String[] ids = new String[LOOKUPS];
+		for (int i = 0; i < TASKS; i++) {
+			Task theTask = new Task(i * 100L, (i * 100L) + 99, false);
+			theTask.setID(UUID.randomUUID().toString());
+			theTask.setJobId("Benchmark");
+			theTask.setUuid("Worker-" + (i % WORKERS));
+			theTask.setStatus(0);
+			theTask.setStartTime(new Date());
+			registry.register(theTask);
+
+			// the Worker's copy of the task is returned and replaces the registered one
+			Task returned = new Task(theTask.getStartIndex(), theTask.getEndIndex(), false);
+			returned.setID(theTask.getID());
+			returned.setJobId(theTask.getJobId());
+			returned.setUuid(theTask.getUuid());
+			returned.setStartTime(theTask.getStartTime());
+			returned.setEndTime(new Date());
+			returned.setTaskDuration(0.5);
+			registry.replace(returned);
+			registry.setStatus(returned.getID(), 2);
+
+			if (i % (TASKS / LOOKUPS) == 0) {
+				ids[i / (TASKS / LOOKUPS)] = theTask.getID();
+			}
+		}
+		long endTime = System.nanoTime();
+
+		long after = usedHeap();
+		BigDecimal perMillion = new BigDecimal((after - before) * (1000000.0 / TASKS) / (1024 * 1024));
+
+		// random lookups, as the UI and reports make of finished tasks
+		Random random = new Random(1);
+		long lookupStart = System.nanoTime();
+		int found = 0;
+		for (int i = 0; i < LOOKUPS; i++) {
+			if (registry.get(random.nextInt(TASKS)) != null) {
+				found++;
+			}
+			if (registry.get(ids[random.nextInt(LOOKUPS)]) != null) {
+				found++;
+			}
+		}
+		long lookupEnd = System.nanoTime();
+
+		System.out.println(name + perMillion.setScale(0, RoundingMode.HALF_UP) + " MB of heap per million tasks, "
+				+ rate(TASKS, startTime, endTime) + " tasks/sec registered and returned, "
+				+ rate(LOOKUPS * 2, lookupStart, lookupEnd) + " lookups/sec (" + found + " of " + (LOOKUPS * 2) + " found)");
+
+		registry.close();
+	}
+
+	private static long usedHeap() {
+
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 5; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
@@ -0,0 +1,214 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import javagrid.common.DataResult;
+import javagrid.common.Task;
+import javagrid.interfaces.SchedulerInt;
+import javagrid.taskspace.StaticScheduler;
+import javagrid.taskspace.TaskCursor;
+import javagrid.taskspace.TaskJournal;
+import javagrid.taskspace.TaskRegistry;
+
+/**
+ * Measures the cost of the TaskSpace journal on the path of taking a task, completing it and adding its result to the
+ * ResultSpace, by running the same cycle with the journal off and on, from 1 to 16 threads.  The cycle is measured on its
+ * own, and again with the three RMI calls a Worker makes for it, over loopback, as they are on the grid.  Then leaves tasks
+ * in flight, drops the journal as a crash would, and times how long a new journal takes to recover the job and how many
+ * ranges it queues to be retried.
+ */
+public class TaskJournalBenchmark {
+
+	private static final int TASKS = 200000;
+	private static final int IN_FLIGHT = 100;
+	private static final String JOB = "Benchmark";
+
+	private static Hop hop;
+
+	/**
+	 * an empty remote call, standing in for takeTask, taskComplete and addResult
+	 */
+	public interface Hop extends Remote {
+		void hop() throws RemoteException;
+	}
+
+	private static class HopServer implements Hop {
+		public void hop() {
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+
+		//warm up, then measure
+		cycle(new TaskJournal(), 1, false);
+		Path warmUp = Files.createTempDirectory("TaskJournalBenchmark");
+		TaskJournal warmJournal = new TaskJournal(warmUp);
+		warmJournal.recover();
+		cycle(warmJournal, 1, false);
+		System.out.println("Warmed up");
+		warmJournal.close();
+		delete(warmUp);
+
+		HopServer server = new HopServer();
+		hop = (Hop) UnicastRemoteObject.exportObject(server, 0);
+
+		for (int remote = 0; remote <= 1; remote++){
+			for (int threads = 1; threads <= 16; threads = threads * 4){
+				BigDecimal off = cycle(new TaskJournal(), threads, remote == 1);
+
+				Path directory = Files.createTempDirectory("TaskJournalBenchmark");
+				TaskJournal journal = new TaskJournal(directory);
+				journal.recover();
+				BigDecimal on = cycle(journal, threads, remote == 1);
+				journal.close();
+				delete(directory);
+
+				BigDecimal overhead = off.subtract(on).multiply(new BigDecimal(100)).divide(off, 1, RoundingMode.HALF_UP);
+				System.out.println((remote == 1 ? "With RMI, " : "In memory, ") + threads + " threads: " + off
+						+ " cycles/sec without journal, " + on + " with, " + overhead + "% overhead");
+			}
+		}
+		UnicastRemoteObject.unexportObject(server, true);
+
+		recovery();
+	}
+
+	/**
+	 * take, complete and add the result of every task, as takeTask, taskComplete and addResult do
+	 */
+	private static BigDecimal cycle(TaskJournal journal, int threads, boolean remote) throws InterruptedException{
+
+		TaskCursor cursor = new TaskCursor();
+		SchedulerInt scheduler = new StaticScheduler(100);
+		TaskRegistry registry = new TaskRegistry();
+		ConcurrentSkipListMap<Long, DataResult> resultSpace = new ConcurrentSkipListMap<Long, DataResult>();
+		journal.open(JOB, 0);
+		cursor.open(0);
+
+		int tasks = remote ? TASKS / 10 : TASKS;
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++){
+			String uuid = "W-" + t;
+			workers.add(new Thread(new Runnable() {
+				public void run() {
+					for (int i = 0; i < tasks / threads; i++){
+						if (remote){
+							hops(3);
+						}
+						Task theTask = cursor.claim(uuid, scheduler);
+						theTask.setID(UUID.randomUUID().toString());
+						theTask.setJobId(JOB);
+						theTask.setUuid(uuid);
+						theTask.setStatus(0);
+						registry.register(theTask);
+						journal.take(JOB, theTask.getID(), theTask.getStartIndex(), theTask.getEndIndex(), TaskJournal.NEW_RANGE);
+
+						DataResult result = new DataResult(theTask.getStartIndex(), "R", new BigDecimal(theTask.getStartIndex()));
+						journal.result(JOB, result.getKeyIndex(), result);
+						resultSpace.put(result.getKeyIndex(), result);
+
+						registry.replace(theTask);
+						registry.setStatus(theTask.getID(), 2);
+						journal.done(JOB, theTask.getID());
+					}
+				}
+			}));
+		}
+
+		long startTime = System.nanoTime();
+		for (Thread worker : workers){
+			worker.start();
+		}
+		for (Thread worker : workers){
+			worker.join();
+		}
+		long endTime = System.nanoTime();
+
+		//the journal keeps writing in the background, so wait for it before the next run
+		journal.sync();
+
+		return rate((tasks / threads) * threads, startTime, endTime);
+	}
+
+	/**
+	 * journal a job with tasks still in flight, then recover it from the files left behind
+	 */
+	private static void recovery() throws Exception {
+
+		Path directory = Files.createTempDirectory("TaskJournalBenchmark");
+		TaskJournal journal = new TaskJournal(directory);
+		journal.recover();
+
+		journal.open(JOB, 0);
+		for (int i = 0; i < TASKS; i++){
+			String taskId = UUID.randomUUID().toString();
+			journal.take(JOB, taskId, i * 100L, (i * 100L) + 99, TaskJournal.NEW_RANGE);
+			if (i < TASKS - IN_FLIGHT){
+				journal.result(JOB, i, new DataResult(i, "R", new BigDecimal(i)));
+				journal.done(JOB, taskId);
+			}
+		}
+
+		//every record is on disk, but the journal is never closed, as if the TaskSpace had died
+		journal.sync();
+		long logBytes = Files.size(directory.resolve("taskspace.journal"));
+
+		long startTime = System.nanoTime();
+		TaskJournal recovered = new TaskJournal(directory);
+		Map<String, TaskJournal.JobState> jobs = recovered.recover();
+		long endTime = System.nanoTime();
+
+		TaskJournal.JobState job = jobs.get(JOB);
+		System.out.println("Recovered " + job.getResultCount() + " results and " + job.getRetries().size() + " of "
+				+ IN_FLIGHT + " tasks in flight to retry, from a snapshot and " + (logBytes / 1024) + " KB of log, in "
+				+ ((endTime - startTime) / 1000000) + " ms");
+
+		recovered.close();
+		delete(directory);
+	}
+
+	private static void hops(int calls){
+		try {
+			for (int i = 0; i < calls; i++){
+				hop.hop();
+			}
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static void delete(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)){
+			for (Path file : (Iterable<Path>) files::iterator){
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
@@ -0,0 +1,69 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.UUID;
+
+import javagrid.common.Task;
+import javagrid.taskspace.TaskRegistry;
+
+/**
+ * Measures task completions per second on the TaskSpace acquired task registry, for jobs of 1 thousand to 1 million tasks.
+ * The rate should stay flat as the number of tasks grows.
+ */
+public class TaskRegistryBenchmark {
+
+	public static void main(String[] args){
+
+		//warm up, then measure each job size
+		run(100000, false);
+
+		for (int tasks = 1000; tasks <= 1000000; tasks = tasks * 10){
+			run(tasks, true);
+		}
+	}
+
+	private static void run(int tasks, boolean print){
+
+		TaskRegistry registry = new TaskRegistry();
+		String[] ids = new String[tasks];
+
+		//acquire every task, as takeTask does
+		for (int i = 0; i < tasks; i++){
+			Task theTask = new Task(i * 100, (i * 100) + 99, false);
+			ids[i] = UUID.randomUUID().toString();
+			theTask.setID(ids[i]);
+			theTask.setJobId("Benchmark");
+			theTask.setUuid("W-" + (i % 64));
+			theTask.setStatus(0);
+			registry.register(theTask);
+		}
+
+		//complete every task, as taskComplete does with the copy returned by the Worker
+		long startTime = System.nanoTime();
+		for (int i = 0; i < tasks; i++){
+			Task returned = new Task(i * 100, (i * 100) + 99, false);
+			returned.setID(ids[i]);
+			returned.setJobId("Benchmark");
+			returned.setUuid("W-" + (i % 64));
+			registry.replace(returned);
+			registry.setStatus(ids[i], 2);
+		}
+		long endTime = System.nanoTime();
+
+		double seconds = (endTime - startTime) / 1000000000.0;
+		if (print){
+		    BigDecimal bd = new BigDecimal(tasks / seconds);
+		    bd = bd.setScale(0, RoundingMode.HALF_UP);
+			System.out.println(tasks + " tasks: " + bd + " completions/sec");
+		}
+	}
+
+}
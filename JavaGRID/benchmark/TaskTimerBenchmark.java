@@ -0,0 +1,85 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import javagrid.taskspace.TaskTimer;
+
+/**
+ * Measures the JVM thread count with 100 to 100 thousand task timeouts in flight, first with one java.util.Timer per task
+ * and then with the shared TaskTimer scheduler, along with the time taken to start and cancel the shared timers.  The thread
+ * count of the shared scheduler should stay flat as the number of tasks grows.
+ */
+public class TaskTimerBenchmark {
+
+	//long enough that no timer fires while being measured, in seconds
+	private static final int TIMEOUT = 3600;
+
+	public static void main(String[] args){
+
+		int baseThreads = Thread.activeCount();
+		System.out.println("Threads before any timers: " + baseThreads);
+
+		//one Timer thread per task, as before.  Capped, since every task costs an OS thread
+		for (int tasks = 100; tasks <= 1000; tasks = tasks * 10){
+			List<Timer> timers = new ArrayList<Timer>();
+			for (int i = 0; i < tasks; i++){
+				Timer aTimer = new Timer(true);
+				aTimer.schedule(new TimerTask() {
+					@Override public void run() {
+					}
+				}, TIMEOUT * 1000L);
+				timers.add(aTimer);
+			}
+			System.out.println("java.util.Timer, " + tasks + " tasks in flight: " + Thread.activeCount() + " threads");
+			for (Timer aTimer : timers){
+				aTimer.cancel();
+			}
+		}
+
+		//shared scheduler
+		for (int tasks = 100; tasks <= 100000; tasks = tasks * 10){
+
+			List<TaskTimer> timers = new ArrayList<TaskTimer>();
+			long startTime = System.nanoTime();
+			for (int i = 0; i < tasks; i++){
+				TaskTimer theTimer = new TaskTimer(String.valueOf(i), i, TIMEOUT, new Runnable() {
+					public void run() {
+					}
+				});
+				theTimer.startTimer();
+				timers.add(theTimer);
+			}
+			long scheduledTime = System.nanoTime();
+			int threads = Thread.activeCount();
+			int pending = TaskTimer.pendingTimers();
+
+			//every task returns before its timeout, as taskComplete cancels each timer
+			for (TaskTimer theTimer : timers){
+				theTimer.cancelTimer();
+			}
+			long endTime = System.nanoTime();
+
+			System.out.println("TaskTimer, " + tasks + " tasks in flight: " + threads + " threads, " + pending + " pending, "
+					+ rate(tasks, startTime, scheduledTime) + " starts/sec, " + rate(tasks, scheduledTime, endTime) + " cancels/sec, "
+					+ TaskTimer.pendingTimers() + " pending after cancel");
+		}
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
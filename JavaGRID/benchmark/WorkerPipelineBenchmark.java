@@ -0,0 +1,201 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import javagrid.common.Task;
+import javagrid.enumeration.Notification;
+import javagrid.interfaces.TaskSpaceInt;
+import javagrid.worker.ResultPublisher;
+import javagrid.worker.TaskPrefetcher;
+
+/**
+ * Measures how much of its time a Worker slot spends computing on small tasks, over RMI on loopback with a simulated network
+ * latency on each call.  Each task takes a couple of milliseconds of CPU, writes a result file which the TaskSpace then
+ * collects, and is reported complete.  First the slot does all of this itself, one step after the other, leasing each task
+ * when it needs it, as the Worker did before.  Then tasks are leased ahead by the TaskPrefetcher and published by the
+ * ResultPublisher while the slot computes the next task.  For each, the share of the slot's time not spent waiting on the
+ * TaskSpace is printed, along with the CPU used by the whole process over the elapsed time.  The stand-in TaskSpace runs in
+ * the same process, so on a machine with few cores its RMI work competes with the slot for the CPU.
+ */
+public class WorkerPipelineBenchmark {
+
+	private static final int TASKS = 500;
+
+	// CPU time of each task, and time the TaskSpace takes to collect its result file, in nanoseconds
+	private static final long COMPUTE = 2000000;
+	private static final long FILE_PULL = 2000000;
+
+	// simulated one way network latency of each RMI call, in nanoseconds
+	private static final long LATENCY = 500000;
+
+	private static AtomicInteger leased = new AtomicInteger();
+	private static AtomicInteger reported = new AtomicInteger();
+
+	public static void main(String[] args) throws Exception {
+
+		// stands in for the TaskSpace, answering only lease, completion and result ready calls
+		InvocationHandler handler = new InvocationHandler() {
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				LockSupport.parkNanos(LATENCY * 2);
+				if (method.getName().equals("takeTasks")) {
+					return lease((Integer) args[1]);
+				} else if (method.getName().equals("completeAndTakeTasks")) {
+					reported.addAndGet(((List<?>) args[1]).size());
+					return lease((Integer) args[2]);
+				} else if (method.getName().equals("notification")) {
+					LockSupport.parkNanos(FILE_PULL);
+					return null;
+				}
+				throw new RemoteException("Not supported by the benchmark: " + method.getName());
+			}
+		};
+		TaskSpaceInt server = (TaskSpaceInt) Proxy.newProxyInstance(TaskSpaceInt.class.getClassLoader(),
+				new Class<?>[] { TaskSpaceInt.class }, handler);
+		TaskSpaceInt taskSpace = (TaskSpaceInt) UnicastRemoteObject.exportObject(server, 0);
+
+		//warm up
+		sequential(taskSpace, false);
+		pipelined(taskSpace, false);
+		System.out.println("Warmed up");
+
+		sequential(taskSpace, true);
+		pipelined(taskSpace, true);
+
+		UnicastRemoteObject.unexportObject(server, true);
+		System.exit(0);
+	}
+
+	private static void sequential(TaskSpaceInt taskSpace, boolean print) throws RemoteException {
+
+		reset();
+		long cpuStart = processCpuTime();
+		long startTime = System.nanoTime();
+		long waiting = 0;
+
+		for (int i = 0; i < TASKS; i++) {
+			long waitStart = System.nanoTime();
+			Task theTask = taskSpace.takeTasks("Worker", 1, 0).get(0);
+			long computeStart = System.nanoTime();
+			compute();
+			long computeEnd = System.nanoTime();
+			taskSpace.notification("Benchmark", Notification.RESULT_READY, theTask.getID());
+			taskSpace.completeAndTakeTasks("Worker", Collections.singletonList(theTask), 0, 0);
+			waiting = waiting + (computeStart - waitStart) + (System.nanoTime() - computeEnd);
+		}
+
+		long endTime = System.nanoTime();
+		long cpuEnd = processCpuTime();
+		if (print) {
+			print("Sequential: ", startTime, endTime, waiting, cpuEnd - cpuStart);
+		}
+	}
+
+	private static void pipelined(TaskSpaceInt taskSpace, boolean print) throws InterruptedException {
+
+		reset();
+		TaskPrefetcher prefetcher = new TaskPrefetcher(taskSpace, "Worker", 2);
+		ResultPublisher publisher = new ResultPublisher(2, 2);
+		long cpuStart = processCpuTime();
+		long startTime = System.nanoTime();
+		long waiting = 0;
+
+		for (int i = 0; i < TASKS; i++) {
+			long waitStart = System.nanoTime();
+			Task theTask = prefetcher.next();
+			long computeStart = System.nanoTime();
+			compute();
+			long computeEnd = System.nanoTime();
+			publisher.publish(new ResultPublisher.Publication() {
+				public void publish() throws Exception {
+					taskSpace.notification("Benchmark", Notification.RESULT_READY, theTask.getID());
+					prefetcher.complete(theTask, 2);
+				}
+			});
+			waiting = waiting + (computeStart - waitStart) + (System.nanoTime() - computeEnd);
+		}
+
+		// the slot is free once it has computed its last task, but the run ends once every task is reported
+		long computedTime = System.nanoTime();
+		long cpuEnd = processCpuTime();
+		while (reported.get() < TASKS) {
+			LockSupport.parkNanos(100000);
+		}
+		long endTime = System.nanoTime();
+		if (print) {
+			print("Pipelined:  ", startTime, computedTime, waiting, cpuEnd - cpuStart);
+			System.out.println("            last task reported " + new BigDecimal((endTime - computedTime) / 1000000.0)
+					.setScale(1, RoundingMode.HALF_UP) + " ms after it was computed");
+		}
+	}
+
+	private static List<Task> lease(int count) {
+
+		List<Task> tasks = new ArrayList<Task>();
+		for (int i = 0; i < count && leased.get() < TASKS; i++) {
+			int number = leased.getAndIncrement();
+			Task theTask = new Task(number * 100L, (number * 100L) + 99, false);
+			theTask.setID("Task-" + number);
+			tasks.add(theTask);
+		}
+		return tasks;
+	}
+
+	private static void reset() {
+		leased.set(0);
+		reported.set(0);
+	}
+
+	// a small task's worth of CPU
+	private static long compute() {
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		long cpuStart = threads.getCurrentThreadCpuTime();
+		long hash = 0;
+		while (threads.getCurrentThreadCpuTime() - cpuStart < COMPUTE) {
+			for (int i = 0; i < 1000; i++) {
+				hash = hash * 31 + i;
+			}
+		}
+		return hash;
+	}
+
+	private static long processCpuTime() {
+		return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+	}
+
+	private static void print(String name, long startTime, long endTime, long waiting, long cpuTime) {
+
+		long elapsed = endTime - startTime;
+		int cores = Runtime.getRuntime().availableProcessors();
+		BigDecimal computing = new BigDecimal(100.0 * (elapsed - waiting) / elapsed).setScale(1, RoundingMode.HALF_UP);
+		BigDecimal cpu = new BigDecimal(100.0 * cpuTime / elapsed / cores).setScale(1, RoundingMode.HALF_UP);
+		System.out.println(name + rate(TASKS, startTime, endTime) + " tasks/sec, slot computing " + computing
+				+ "% of the time, process CPU " + cpu + "% of " + cores + (cores == 1 ? " core" : " cores"));
+	}
+
+	private static BigDecimal rate(int count, long startTime, long endTime){
+	    BigDecimal bd = new BigDecimal(count / ((endTime - startTime) / 1000000000.0));
+	    return bd.setScale(0, RoundingMode.HALF_UP);
+	}
+
+}
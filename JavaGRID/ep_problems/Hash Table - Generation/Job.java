@@ -79,9 +79,9 @@ public class Job implements JobInt, Serializable{
 
     //advanced mode of operation. Not used in this example
     /* (non-Javadoc)
-     * @see javagrid.interfaces.JobInt#computation(java.lang.String, int, int)
+     * @see javagrid.interfaces.JobInt#computation(java.lang.String, long, long)
      */
-    public boolean computation(String fileName, int startIndex, int endIndex){
+    public boolean computation(String fileName, long startIndex, long endIndex){
 
     	return true;
     }
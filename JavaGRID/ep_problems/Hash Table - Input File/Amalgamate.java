@@ -95,8 +95,8 @@ public class Amalgamate implements AmalgamateInt, Serializable{
  		///////////////
  		/// framework - DO NOT REMOVE
 
-	    	int fileSize = das.size();
-	    	for(int i = 0; i <= fileSize - 1; i++){
+	    	long fileSize = das.size();
+	    	for(long i = 0; i <= fileSize - 1; i++){
 	    	    dio.appendItem(das.readValue(i));
 	    	}
 
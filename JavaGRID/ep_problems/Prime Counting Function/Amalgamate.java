@@ -82,7 +82,7 @@ public class Amalgamate implements AmalgamateInt, Serializable{
 	 */
 	public boolean amalgamateFile() {
 
-		int numOfPrimes = 0;
+		long numOfPrimes = 0;
  		///////////////
  		/// framework - DO NOT REMOVE
 	    for(File result : files){
@@ -97,7 +97,7 @@ public class Amalgamate implements AmalgamateInt, Serializable{
 
 
 	    	if(das.readValue(0) != null){
-		    	numOfPrimes = numOfPrimes + Integer.parseInt(das.readValue(0));
+		    	numOfPrimes = numOfPrimes + Long.parseLong(das.readValue(0));
 	    	}
 
 		///////////////
@@ -25,7 +25,6 @@ public class Job implements JobInt, Serializable{
 	String workingDir;
 	String jobID;
 	javaGridFile inputFile;
-	javaGridFile outputFile;
 
 	/* (non-Javadoc)
 	 * @see javagrid.interfaces.JobInt#initialise(java.lang.String, java.lang.String, javagrid.utils.DiskArraySQL)
@@ -66,14 +65,14 @@ public class Job implements JobInt, Serializable{
 
     //For every integer within each task, calls isPrime function to check if the supplied number is prime.  Increments counter is prime.
 	 /* (non-Javadoc)
-     * @see javagrid.interfaces.JobInt#computation(java.lang.String, int, int)
+     * @see javagrid.interfaces.JobInt#computation(java.lang.String, long, long)
      */
-    public boolean computation(String fileName, int startIndex, int endIndex){
+    public boolean computation(String fileName, long startIndex, long endIndex){
 
-    	outputFile = new javaGridFile(true, workingDir, jobID, fileName);
+    	javaGridFile outputFile = new javaGridFile(true, workingDir, jobID, fileName);
     	
-    	int count = 0;
-		for (int i = startIndex; i <= endIndex; i++){
+    	long count = 0;
+		for (long i = startIndex; i <= endIndex; i++){
 
 			if(i >= 10000000){
 				WorkerMainApp.terminateJob(false);
@@ -95,9 +94,9 @@ public class Job implements JobInt, Serializable{
     }
     
     //returns 0 or 1 after determining if the passed number is prime.  Uses a trivial trial division method
-    int isPrime(int number) {
+    int isPrime(long number) {
         if (number <= 1) return 0; // zero and one are not prime
-        int i;
+        long i;
         for (i=2; i*i<=number; i++) {
             if (number % i == 0) return 0;
         }
@@ -27,7 +27,6 @@ public class Job implements JobInt, Serializable{
 	String workingDir;
 	String jobID;
 	javaGridFile inputFile;
-	javaGridFile outputFile;
 
 		/* (non-Javadoc)
 	 * @see javagrid.interfaces.JobInt#initialise(java.lang.String, java.lang.String, javagrid.utils.DiskArraySQL)
@@ -68,11 +67,11 @@ public class Job implements JobInt, Serializable{
 
     //For every task, iterate the BBP series to get the value of pi, save final summation to a file and send back to TaskSpace
 	/* (non-Javadoc)
-     * @see javagrid.interfaces.JobInt#computation(java.lang.String, int, int)
+     * @see javagrid.interfaces.JobInt#computation(java.lang.String, long, long)
      */
-    public boolean computation(String fileName, int startIndex, int endIndex){
+    public boolean computation(String fileName, long startIndex, long endIndex){
 
-    	outputFile = new javaGridFile(true, workingDir, jobID, fileName);
+    	javaGridFile outputFile = new javaGridFile(true, workingDir, jobID, fileName);
 
     	BigDecimal pi = BigDecimal.ZERO;
 		MathContext mc = new MathContext(300); // set precision
@@ -80,7 +79,7 @@ public class Job implements JobInt, Serializable{
 		BigDecimal eight = new BigDecimal(8);
 		BigDecimal one = BigDecimal.ONE;
 
-		for (int i = startIndex; i <= endIndex; i++){
+		for (long i = startIndex; i <= endIndex; i++){
 			
 			if(i >= 1000000){
 				WorkerMainApp.terminateJob(false);
@@ -91,7 +90,7 @@ public class Job implements JobInt, Serializable{
 				return true;
 			}
 
-			BigDecimal a = one.divide(sixteen.pow(i, mc), mc);
+			BigDecimal a = one.divide(sixteen.pow(Math.toIntExact(i), mc), mc);
 			BigDecimal b = new BigDecimal(4).divide(eight.multiply(new BigDecimal(i)).add(new BigDecimal(1)), mc);
 			BigDecimal c = new BigDecimal(2).divide(eight.multiply(new BigDecimal(i)).add(new BigDecimal(4)), mc);
 			BigDecimal d = one.divide(eight.multiply(new BigDecimal(i)).add(new BigDecimal(5)), mc);
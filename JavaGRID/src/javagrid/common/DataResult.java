@@ -17,7 +17,7 @@ import java.io.Serializable;
 public class DataResult implements Serializable {
 
 	private static final long serialVersionUID = 7474590408686825961L;
-	private int keyIndex;
+	private long keyIndex;
 	private int uiIndex;
 	private String visualValue;
 	private Object theObject;
@@ -28,7 +28,7 @@ public class DataResult implements Serializable {
 	 * @param visualValue the value for functions where it is represented in a table view
 	 * @param theObject the intrinsic object itself i.e. the object being computed
 	 */
-	public DataResult(int keyIndex, String visualValue, Object theObject){
+	public DataResult(long keyIndex, String visualValue, Object theObject){
 		this.keyIndex = keyIndex;
 		this.visualValue = visualValue;
 		this.theObject = theObject;
@@ -40,13 +40,13 @@ public class DataResult implements Serializable {
 	 *
 	 * @param index the key value of the data or result to be used
 	 */
-	public void setKeyIndex(int index) {
+	public void setKeyIndex(long index) {
 		this.keyIndex = index;
 	}
 	/**
 	 * @return the key value for the data or result
 	 */
-	public int getKeyIndex() {
+	public long getKeyIndex() {
 		return keyIndex;
 	}
 	/**
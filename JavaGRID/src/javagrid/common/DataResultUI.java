@@ -24,7 +24,7 @@ public class DataResultUI {
 	 * @param keyIndex the key for the observable array list used to store this data result UI object
 	 * @param visualValue the visual value used to display the data or result item
 	 */
-	public DataResultUI(int keyIndex, String visualValue){
+	public DataResultUI(long keyIndex, String visualValue){
 		this.keyIndex = new SimpleStringProperty(String.valueOf(keyIndex));
 		this.visualValue = new SimpleStringProperty(visualValue);
 	}
@@ -33,8 +33,8 @@ public class DataResultUI {
 	public StringProperty keyIndexProperty() {
 		return this.keyIndex;
 	}
-	public void setKeyIndex(int index) {
-		this.keyIndex.set(String.valueOf(keyIndex));
+	public void setKeyIndex(long index) {
+		this.keyIndex.set(String.valueOf(index));
 	}
 	public String getKeyIndex() {
 		return this.keyIndex.get();
@@ -31,7 +31,7 @@ public class JobParameters implements Serializable {
 	private String jobId;
 	private Mode jobMode;
 	private DataSource inputSource;
-	private int continuation;
+	private long continuation;
 	private ResultDestination outputDestination;
 	private int pulseInterval;
 	private boolean compressFiles;
@@ -39,6 +39,9 @@ public class JobParameters implements Serializable {
 	private Algorithm algorithm;
 	private int granularity;
 	private int taksTimeout;
+	private String masterUuid;
+	private boolean parallelItems = false;
+	private int itemConcurrency = 0;
 
 
 	/**
@@ -51,11 +54,11 @@ public class JobParameters implements Serializable {
 	 * @param pulseInterval the integer value, in seconds, used for background agents generating pulses and detecting heartbeat of nodes.  See {@link javagrid.utils.Heartbeat}.
 	 * @param compressFiles (reserved/deprecated) whether gzip compression is used for file transmission
 	 * @param compressStreams sets file transfer compression, using gzip, in RMMIO file transfer library
-	 * @param algorithm (reserved/deprecated) the algorithm used to alter the granularity used for task creation
+	 * @param algorithm the algorithm used to alter the granularity used for task creation.  See {@link javagrid.enumeration.Algorithm}
 	 * @param granularity the task size, obtained by adding this value to the previous tasks end index
 	 * @param taskTimeout the integer value, in seconds, used to flag a worker node as failed should a result object not be returned in time
 	 */
-	public JobParameters(boolean jobPaused, String jobId, Mode jobMode, DataSource inputSource, int continuation,
+	public JobParameters(boolean jobPaused, String jobId, Mode jobMode, DataSource inputSource, long continuation,
 			ResultDestination outputDestination, int pulseInterval, boolean compressFiles, boolean compressStreams, Algorithm algorithm,
 			int granularity, int taskTimeout) {
 
@@ -129,7 +132,7 @@ public class JobParameters implements Serializable {
 	public void setCompressSteams(boolean compressSteams) {
 		this.compressSteams = compressSteams;
 	}
-	public int getContinuation() {
+	public long getContinuation() {
 		return continuation;
 	}
 	public int getGranularity() {
@@ -138,7 +141,7 @@ public class JobParameters implements Serializable {
 	public int getTaksTimeout() {
 		return taksTimeout;
 	}
-	public void setContinuation(int continuation) {
+	public void setContinuation(long continuation) {
 		this.continuation = continuation;
 	}
 	public void setGranularity(int granularity) {
@@ -147,5 +150,34 @@ public class JobParameters implements Serializable {
 	public void setTaksTimeout(int taksTimeout) {
 		this.taksTimeout = taksTimeout;
 	}
+	/**
+	 * @return the id of the Master which submitted the job
+	 */
+	public String getMasterUuid() {
+		return masterUuid;
+	}
+	public void setMasterUuid(String masterUuid) {
+		this.masterUuid = masterUuid;
+	}
+	/**
+	 * @return true if, in the simple mode, the items of a task are computed in parallel on the Worker and their results
+	 * collected in index order, false if they are computed one after the other
+	 */
+	public boolean getParallelItems() {
+		return parallelItems;
+	}
+	public void setParallelItems(boolean parallelItems) {
+		this.parallelItems = parallelItems;
+	}
+	/**
+	 * @return in the simple mode, the most items each Worker has in flight at once, each on its own virtual thread, or 0 to
+	 * compute items on the Worker's execution slots.  Suits jobs whose items wait on the network, such as DataSpace input
+	 */
+	public int getItemConcurrency() {
+		return itemConcurrency;
+	}
+	public void setItemConcurrency(int itemConcurrency) {
+		this.itemConcurrency = itemConcurrency;
+	}
 
 }
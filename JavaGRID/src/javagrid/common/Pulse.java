@@ -27,6 +27,7 @@ public class Pulse implements Serializable {
 	private double idleCPU;
 	private double combinedCPU;
 	private double jvmCPU;
+	private double[] slotProgress;	// for a Worker, the progress of each execution slot through its task, or -1 if idle
 
 	/**
 	 * @param clientType flag indicator.  Either {Master, Worker} and used by the TaskSpace to identify source of node message
@@ -87,6 +88,9 @@ public class Pulse implements Serializable {
 	public double getJvmCPU() {
 		return jvmCPU;
 	}
+	public double[] getSlotProgress() {
+		return slotProgress;
+	}
 	public void setClientType(String clientType) {
 		this.clientType = clientType;
 	}
@@ -117,5 +121,8 @@ public class Pulse implements Serializable {
 	public void setJvmCPU(double jvmCPU) {
 		this.jvmCPU = jvmCPU;
 	}
+	public void setSlotProgress(double[] slotProgress) {
+		this.slotProgress = slotProgress;
+	}
 
 }
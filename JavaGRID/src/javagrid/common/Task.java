@@ -17,10 +17,12 @@ import java.util.Date;
  */
 public class Task implements Serializable {
 
-	private static final long serialVersionUID = -5936810493043562710L;
+	private static final long serialVersionUID = 4698538842715242201L;
 	private String key;
-	private int startIndex;
-	private int endIndex;
+	private String jobId;
+	private int sequence;
+	private long startIndex;
+	private long endIndex;
 	private String range;
 	private String uuid;
 	private int status;	// -1 = awaiting, 0 = active, 1 = failed, 2 = returned, 3 = terminated, 4 = timed out
@@ -34,15 +36,23 @@ public class Task implements Serializable {
 	 * @param endIndex self-explanatory
 	 * @param previousFailure flag to indicate task has been returned to the available task queue and thus should be processed differently
 	 */
-	public Task(int startIndex, int endIndex, boolean previousFailure){
+	public Task(long startIndex, long endIndex, boolean previousFailure){
 		this.startIndex = startIndex;
 		this.endIndex = endIndex;
 		this.status = -1;
 		this.previouslyFailed = previousFailure;
-		this.range = String.format("%010d", startIndex) + "-" +  String.format("%010d", endIndex);
+		this.range = formatRange(startIndex, endIndex);
 
 	}
 
+	/**
+	 * the range is used as the name of the task's result file, so is zero padded, to the width of the largest index, to sort
+	 * in index order
+	 */
+	private static String formatRange(long startIndex, long endIndex) {
+		return String.format("%019d", startIndex) + "-" +  String.format("%019d", endIndex);
+	}
+
 
 	public void setID(String key) {
 		this.key = key;
@@ -50,16 +60,30 @@ public class Task implements Serializable {
 	public String getID(){
 		return this.key;
 	}
-	public void setStartIndex(int startIndex) {
+	public void setJobId(String jobId) {
+		this.jobId = jobId;
+	}
+	public String getJobId() {
+		return jobId;
+	}
+	public void setSequence(int sequence) {
+		this.sequence = sequence;
+	}
+	public int getSequence() {
+		return sequence;
+	}
+	public void setStartIndex(long startIndex) {
 		this.startIndex = startIndex;
+		this.range = formatRange(startIndex, endIndex);
 	}
-	public int getStartIndex() {
+	public long getStartIndex() {
 		return startIndex;
 	}
-	public void setEndIndex(int endIndex) {
+	public void setEndIndex(long endIndex) {
 		this.endIndex = endIndex;
+		this.range = formatRange(startIndex, endIndex);
 	}
-	public int getEndIndex() {
+	public long getEndIndex() {
 		return endIndex;
 	}
 	public void setRange(String range) {
@@ -37,7 +37,7 @@ public class TaskUI {
 	 * @param startIndex self-explanatory
 	 * @param endIndex self-explanatory
 	 */
-	public TaskUI(String key, int startIndex, int endIndex){
+	public TaskUI(String key, long startIndex, long endIndex){
 
 		this.key = new SimpleStringProperty(key);
 		this.startIndex = new SimpleStringProperty(String.valueOf(startIndex));
@@ -63,7 +63,7 @@ public class TaskUI {
 	public StringProperty startIndexProperty() {
 		return this.startIndex;
 	}
-	public void setStartIndex(int startIndex) {
+	public void setStartIndex(long startIndex) {
 		this.startIndex.set(String.valueOf(startIndex));
 	}
 	public String getStartIndex() {
@@ -72,7 +72,7 @@ public class TaskUI {
 	public StringProperty endIndexProperty() {
 		return this.endIndex;
 	}
-	public void setEndIndex(int endIndex) {
+	public void setEndIndex(long endIndex) {
 		this.endIndex.set(String.valueOf(endIndex));
 	}
 	public String getEndIndex() {
@@ -18,6 +18,7 @@ import javafx.beans.property.StringProperty;
 public class WorkerNode extends Node {
 
 	private StringProperty tasksExecuted;
+	private StringProperty slots;
 
 	/**
 	 * @param uuidParam the globally unique identifier for this master node
@@ -30,6 +31,7 @@ public class WorkerNode extends Node {
 	public WorkerNode(String uuidParam, String hostnameParam, String ipParam, int portParam, String statusParam, int tasksParam) {
 		super(uuidParam, hostnameParam, ipParam, portParam, statusParam);
 		this.tasksExecuted = new SimpleStringProperty(Integer.toString(tasksParam));
+		this.slots = new SimpleStringProperty("-");
 
 	}
 
@@ -44,4 +46,18 @@ public class WorkerNode extends Node {
 		return this.tasksExecuted.get();
 	}
 
+	public StringProperty slotsProperty(){
+		return slots;
+	}
+	/**
+	 * @param busy the number of the Worker's execution slots computing a task
+	 * @param total the number of execution slots the Worker has
+	 */
+	public void setSlots(int busy, int total) {
+		this.slots.set(busy + "/" + total);
+	}
+	public String getSlots(){
+		return this.slots.get();
+	}
+
 }
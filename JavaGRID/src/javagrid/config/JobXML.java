@@ -64,6 +64,8 @@ public class JobXML {
 	public String algorithm;
 	public String granulairty;
 	public String taskTimeout;
+	public boolean parallelItems = false;
+	public int itemConcurrency = 0;
 
 	public String compressFiles;
 	public String compressStreams;
@@ -139,6 +141,20 @@ public class JobXML {
 					.getElementsByTagName("pulseInterval").item(0)
 					.getTextContent();
 
+			// optional, job config files written before parallel items were supported compute items one after the other
+			if (eElement.getElementsByTagName("parallelItems").getLength() > 0) {
+				parallelItems = Boolean.parseBoolean(eElement
+						.getElementsByTagName("parallelItems").item(0)
+						.getTextContent());
+			}
+
+			// optional, items in flight at once on each Worker for jobs which wait on the network, or 0 for none
+			if (eElement.getElementsByTagName("itemConcurrency").getLength() > 0) {
+				itemConcurrency = Integer.parseInt(eElement
+						.getElementsByTagName("itemConcurrency").item(0)
+						.getTextContent());
+			}
+
 			nList = doc.getElementsByTagName("amalgamation");
 			nNode = nList.item(0);
 			eElement = (Element) nNode;
@@ -281,6 +297,14 @@ public class JobXML {
 			epulse.appendChild(doc.createTextNode(pulse));
 			eworker.appendChild(epulse);
 
+			Element eparallel = doc.createElement("parallelItems");
+			eparallel.appendChild(doc.createTextNode(String.valueOf(parallelItems)));
+			eworker.appendChild(eparallel);
+
+			Element econcurrency = doc.createElement("itemConcurrency");
+			econcurrency.appendChild(doc.createTextNode(String.valueOf(itemConcurrency)));
+			eworker.appendChild(econcurrency);
+
 			//amalgamation
 			Element eamalg = doc.createElement("amalgamation");
 			rootElement.appendChild(eamalg);
@@ -34,6 +34,7 @@ public class TaskSpaceXML {
 	public int portStart;
 	public int portEnd;
 	public String token;
+	public boolean journal = true;
 
 	public TaskSpaceXML(String filePath) {
 		readXML(new File(filePath));
@@ -71,6 +72,13 @@ public class TaskSpaceXML {
 					.getElementsByTagName("token").item(0)
 					.getTextContent();
 
+			// optional, as config files written before the journal do not have it
+			if (eElement.getElementsByTagName("journal").getLength() > 0) {
+				journal = Boolean.parseBoolean(eElement
+						.getElementsByTagName("journal").item(0)
+						.getTextContent());
+			}
+
 		} catch (Exception ex) {
 			ExceptionDialogWithPane edp = new ExceptionDialogWithPane("Error reading TaskSpace config file!", "TaskSpaceXML", ex);
 			try {
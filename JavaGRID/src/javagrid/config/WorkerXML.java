@@ -57,6 +57,8 @@ public class WorkerXML {
 
 	public String token;
 	public String priority;
+	public int prefetch = 2;
+	public int slots = 1;
 
 	public WorkerXML(String filePath) {
 		workerFile = new File(filePath);
@@ -97,6 +99,20 @@ public class WorkerXML {
 					.getElementsByTagName("priority").item(0)
 					.getTextContent();
 
+			// optional, number of tasks leased ahead of the one being computed
+			if (eElement.getElementsByTagName("prefetch").getLength() > 0) {
+				prefetch = Integer.parseInt(eElement
+						.getElementsByTagName("prefetch").item(0)
+						.getTextContent());
+			}
+
+			// optional, number of tasks computed at once, or 0 for one per core
+			if (eElement.getElementsByTagName("slots").getLength() > 0) {
+				slots = Integer.parseInt(eElement
+						.getElementsByTagName("slots").item(0)
+						.getTextContent());
+			}
+
 			nList = doc.getElementsByTagName("taskSpace");
 			nNode = nList.item(0);
 			eElement = (Element) nNode;
@@ -179,6 +195,14 @@ public class WorkerXML {
 			epriority.appendChild(doc.createTextNode(priorityParam));
 			eworkers.appendChild(epriority);
 
+			Element eprefetch = doc.createElement("prefetch");
+			eprefetch.appendChild(doc.createTextNode(String.valueOf(prefetch)));
+			eworkers.appendChild(eprefetch);
+
+			Element eslots = doc.createElement("slots");
+			eslots.appendChild(doc.createTextNode(String.valueOf(slots)));
+			eworkers.appendChild(eslots);
+
 			//taskspace
 			Element etaskspace = doc.createElement("taskSpace");
 			rootElement.appendChild(etaskspace);
@@ -199,8 +199,8 @@ public class MasterMainController implements Initializable{
 			        		masterApp.saveJobConfig();
 
 			        		if (getCbRange() == true){
-			        			masterApp.addFirstTask(new Task(Integer.parseInt(getTfIndexStart()),
-			        					Integer.parseInt(getTfIndexStart()) + Integer.parseInt(getTfGranularity()), false));
+			        			masterApp.addFirstTask(new Task(Long.parseLong(getTfIndexStart()),
+			        					Long.parseLong(getTfIndexStart()) + Integer.parseInt(getTfGranularity()), false));
 			        		}else{
 			        			masterApp.addFirstTask(new Task(0, 0 + Integer.parseInt(getTfGranularity()), false));
 			        		}
@@ -78,6 +78,8 @@ public class TaskSpaceMainController implements Initializable{
 	@FXML
 	private TreeTableColumn<WorkerNode, String> ttcWorkerTasksExec;
 	@FXML
+	private TreeTableColumn<WorkerNode, String> ttcWorkerSlots;
+	@FXML
 	private TableView<TaskUI> tvAvailable;
 	@FXML
 	private TableColumn<TaskUI, String> tcTaskIdAvailable;
@@ -127,6 +129,10 @@ public class TaskSpaceMainController implements Initializable{
 
 	private ObservableList<TaskUI> availableList;
 	private ObservableList<TaskUI> acquiredList;
+
+	// only the most recent acquired tasks are shown, the rest are kept by the task space.  Row 0 shows the task with this index
+	private static final int ACQUIRED_ROWS = 10000;
+	private int firstAcquired = 0;
 	private ObservableList<DataResultUI> dataList;
 	private ObservableList<DataResultUI> resultList;
 
@@ -174,6 +180,7 @@ public class TaskSpaceMainController implements Initializable{
         ttcWorkerUUID.setCellValueFactory( param -> param.getValue().getValue().uuidProperty());
         ttcWorkerStatus.setCellValueFactory( param -> param.getValue().getValue().statusProperty());
         ttcWorkerTasksExec.setCellValueFactory( param -> param.getValue().getValue().tasksExecutedProperty());
+        ttcWorkerSlots.setCellValueFactory( param -> param.getValue().getValue().slotsProperty());
 
         //Creating a tree table view
         ttvWorkers.setRoot(workersRoot);
@@ -327,7 +334,10 @@ public class TaskSpaceMainController implements Initializable{
 
     	availableList.add(theTaskUI);
 
-    	tvAvailable.getSortOrder().add(tcTaskIdAvailable);
+    	// the sort column is only added once, or the sort order grows by one column with every task added
+    	if (!tvAvailable.getSortOrder().contains(tcTaskIdAvailable)){
+    		tvAvailable.getSortOrder().add(tcTaskIdAvailable);
+    	}
     	tcTaskIdAvailable.setSortType(SortType.ASCENDING);
     	tcTaskIdAvailable.setSortable(true);
     	tcTaskIdAvailable.setSortable(false);
@@ -341,6 +351,17 @@ public class TaskSpaceMainController implements Initializable{
     	setLblAvailableCount(formatNumber(availableList.size()));
     }
 
+    public void removeTaskAvailableQueue(String key){
+
+    	for (int i = 0; i <= availableList.size() - 1; i++){
+    		if (availableList.get(i).getID().equals(key)){
+    			availableList.remove(i);
+    			break;
+    		}
+    	}
+    	setLblAvailableCount(formatNumber(availableList.size()));
+    }
+
     public void removeAllTasksAvailableQueue(){
 
     	availableList.clear();
@@ -354,14 +375,21 @@ public class TaskSpaceMainController implements Initializable{
     public void addTaskAcquiredQueue(TaskUI theTaskUI){
 
     	acquiredList.add(theTaskUI);
-    	setLblAcquiredCount(formatNumber(acquiredList.size()));
+
+    	// drop the oldest rows a tenth at a time, rather than one row per task
+    	if (acquiredList.size() > ACQUIRED_ROWS + (ACQUIRED_ROWS / 10)){
+    		acquiredList.remove(0, ACQUIRED_ROWS / 10);
+    		firstAcquired = firstAcquired + (ACQUIRED_ROWS / 10);
+    	}
+    	setLblAcquiredCount(formatNumber(firstAcquired + acquiredList.size()));
 
     }
 
     public void setStatusAcquiredQueue(int index, int status){
 
-    	if(index <= acquiredList.size() - 1){
-    		acquiredList.get(index).setStatus(status);
+    	int row = index - firstAcquired;
+    	if(row >= 0 && row <= acquiredList.size() - 1){
+    		acquiredList.get(row).setStatus(status);
         	Refresh(tvAcquired);
     	}
 
@@ -369,14 +397,18 @@ public class TaskSpaceMainController implements Initializable{
 
     public void setDurationAcquiredQueue(int index, double duration){
 
-    	acquiredList.get(index).setTaskDuration(duration);
-    	Refresh(tvAcquired);
+    	int row = index - firstAcquired;
+    	if(row >= 0 && row <= acquiredList.size() - 1){
+    		acquiredList.get(row).setTaskDuration(duration);
+    		Refresh(tvAcquired);
+    	}
 
     }
 
     public void removeAllTasksAcquiredQueue(){
 
     	acquiredList.clear();
+    	firstAcquired = 0;
     	setLblAcquiredCount(formatNumber(acquiredList.size()));
     }
 
@@ -421,7 +453,7 @@ public class TaskSpaceMainController implements Initializable{
     	setLblResultCount(formatNumber(resultList.size()));
     }
 
-    public void removeOutputResultSpace(int index){
+    public void removeOutputResultSpace(long index){
 
     	setLblResultCount(formatNumber(resultList.size()));
     }
@@ -10,6 +10,7 @@
 package javagrid.controller;
 
 import java.net.URL;
+import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 import javafx.beans.value.ChangeListener;
@@ -25,6 +26,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.ProgressIndicator;
 import javagrid.common.ExceptionDialogWithPane;
@@ -72,6 +74,8 @@ public class WorkerMainController implements Initializable{
 	@FXML
 	private ProgressIndicator piJob;
 	@FXML
+	private ListView<String> lvSlots;
+	@FXML
 	private Button btnUpdate;
 
 
@@ -213,5 +217,8 @@ public class WorkerMainController implements Initializable{
 	public void setLblCurrent(String lblCurrent) {
 		this.lblCurrent.setText(lblCurrent);
 	}
+	public void setSlots(List<String> slots) {
+		this.lvSlots.getItems().setAll(slots);
+	}
 
 }
@@ -10,7 +10,9 @@
 package javagrid.enumeration;
 
 /**
- * (reserved/deprecated) Enumeration types for scheduling algorithms for future use
+ * Enumeration types for the scheduling algorithms used by the TaskSpace to size tasks.  STATIC gives every task the job
+ * granularity, PRIORI scales it by each Worker's hardware relative to the grid and RTS resizes it at runtime from each
+ * Worker's measured task durations
  */
 public enum Algorithm {
 	STATIC, PRIORI, RTS
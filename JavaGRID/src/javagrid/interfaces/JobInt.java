@@ -55,6 +55,6 @@ public interface JobInt {
 	 * @param endIndex the end index
 	 * @return return true on successful completion of the task, false otherwise
 	 */
-	public boolean computation(String fileName, int startIndex, int endIndex);
+	public boolean computation(String fileName, long startIndex, long endIndex);
 
 }
\ No newline at end of file
@@ -21,6 +21,14 @@ import javagrid.enumeration.Notification;
  */
 public interface MasterInt extends Remote{
 
+	/**
+	 * Method to return the id of the Master.  Used by the TaskSpace to detect activity
+	 *
+	 * @return a string which is the id of the Master
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public String getUUID() throws RemoteException;
+
 	/**
 	 * Called by Workers, to register themselves with the Master and receive job + job parameters
 	 *
@@ -0,0 +1,67 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.interfaces;
+
+import javagrid.common.Task;
+import javagrid.common.WorkerNode;
+
+/**
+ * Local interface, implemented by the TaskSpace scheduling algorithms which decide the size of each new task.  The algorithm
+ * used for a job is chosen at the Master.  See {@link javagrid.enumeration.Algorithm}
+ */
+public interface SchedulerInt {
+
+	/**
+	 * Called when a Worker has joined the grid and sent its node specification
+	 *
+	 * @param workerNode the Worker, with its hardware details set
+	 */
+	public void addWorker(WorkerNode workerNode);
+
+	/**
+	 * Called when a Worker has left the grid
+	 *
+	 * @param uuid the id of the Worker
+	 */
+	public void removeWorker(String uuid);
+
+	/**
+	 * Called when the number of input items is known, for DataSpace and file inputs
+	 *
+	 * @param indexLimit the index after the last input item
+	 */
+	public void setIndexLimit(long indexLimit);
+
+	/**
+	 * Decide the number of items in the next task leased to a Worker
+	 *
+	 * @param uuid the id of the Worker leasing the task
+	 * @param startIndex the index of the first item in the task
+	 * @return the number of items, at least 1
+	 */
+	public int nextTaskSize(String uuid, long startIndex);
+
+	/**
+	 * Called once a Worker has claimed a task sized by {@link #nextTaskSize}.  A size which lost its claim to another Worker
+	 * is sized again, and never reported here
+	 *
+	 * @param uuid the id of the Worker which claimed the task
+	 * @param size the number of items the task was sized at
+	 */
+	public void taskClaimed(String uuid, int size);
+
+	/**
+	 * Called when a Worker has returned a completed task, with its measured duration
+	 *
+	 * @param theTask the completed task.  See {@link javagrid.common.Task}
+	 */
+	public void taskComplete(Task theTask);
+
+}
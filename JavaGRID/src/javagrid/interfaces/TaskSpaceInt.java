@@ -11,6 +11,7 @@ package javagrid.interfaces;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 
 import com.healthmarketscience.rmiio.RemoteInputStream;
 
@@ -26,6 +27,11 @@ import javagrid.enumeration.Notification;
  */
 public interface TaskSpaceInt extends Remote{
 
+	/**
+	 * the most data items returned by one call to {@link #takeDataRange(String, long, long)}
+	 */
+	public static final int MAX_DATA_RANGE = 65536;
+
 	/**
 	 * Authentication call against the TaskSpace
 	 *
@@ -49,13 +55,22 @@ public interface TaskSpaceInt extends Remote{
 	public void registerNode(String uuid, String hostname, String clientType, int port) throws RemoteException;
 
 	/**
-	 * Method to pass the TaskSpace the job parameter
+	 * Method to pass the TaskSpace the job parameter.  Several jobs, each with its own id, can run on the TaskSpace at once
 	 *
 	 * @param jobParam the job parameter class to pass. See {@link javagrid.common.JobParameters}
 	 * @throws RemoteException RMI calls must throw RemoteException RMI calls must throw RemoteException
 	 */
 	public void jobParameters(JobParameters jobParam) throws RemoteException;
 
+	/**
+	 * Called by a Worker when it is given a job to execute, so that it is only given tasks of that job
+	 *
+	 * @param uuid the id of the Worker
+	 * @param jobId the id of the job
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public void joinJob(String uuid, String jobId) throws RemoteException;
+
 	/**
 	 * Upon connection from a node, receive the necessary details about the node
 	 *
@@ -75,22 +90,25 @@ public interface TaskSpaceInt extends Remote{
 	/**
 	 * Notification method for the TaskSpace
 	 *
+	 * @param jobId the id of the job the notification is about
 	 * @param type the notification type.  See {@link javagrid.enumeration.Notification}
 	 * @param value any additional flag
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void notification(Notification type, String value) throws RemoteException;
+	public void notification(String jobId, Notification type, String value) throws RemoteException;
 
 	/**
-	 * Add a task to the queue
+	 * Add a task to the TaskSpace.  A previously failed task is queued for retry, any other task opens the job's index space
+	 * from its start index, after which new tasks are claimed from the head of the index space as Workers ask for them
 	 *
-	 * @param theTask the task to add.  See {@link javagrid.common.Task}
+	 * @param theTask the task to add, with the id of its job set.  See {@link javagrid.common.Task}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
 	public void addTask(Task theTask) throws RemoteException;
 
 	/**
-	 * Take the first task from the queue
+	 * Take the first task from the retry queue, or claim a new task from the head of the index space, of the job the Worker
+	 * has joined.  A Worker which has not joined a job is given a task of the job furthest below its weighted fair share
 	 *
 	 * @param uuid the Worker requesting a task
 	 * @return a task to the requesting worker
@@ -99,59 +117,114 @@ public interface TaskSpaceInt extends Remote{
 	public Task takeTask(String uuid) throws RemoteException;
 
 	/**
-	 * Add a single result item to the ResultSpace
+	 * Take up to a number of tasks from the queue in one call, leasing them all to the requesting Worker.  If no task is
+	 * available, the call waits on the TaskSpace until one is added or the wait runs out
 	 *
+	 * @param uuid the Worker requesting tasks
+	 * @param count the maximum number of tasks to lease
+	 * @param waitMillis the longest time to wait for a task, in milliseconds.  0 returns straight away
+	 * @return the leased tasks, which may be fewer than requested, or empty if the wait ran out
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public List<Task> takeTasks(String uuid, int count, long waitMillis) throws RemoteException;
+
+	/**
+	 * Notify the TaskSpace of completed tasks and lease further tasks in the same call.  The status of each completed task is
+	 * read from the task itself.  See {@link #taskComplete(Task, int)}
+	 *
+	 * @param uuid the Worker returning and requesting tasks
+	 * @param completed the tasks completed by the Worker since its last call
+	 * @param count the maximum number of tasks to lease
+	 * @param waitMillis the longest time to wait for a task, in milliseconds.  See {@link #takeTasks(String, int, long)}
+	 * @return the leased tasks, which may be fewer than requested, or empty if the wait ran out
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public List<Task> completeAndTakeTasks(String uuid, List<Task> completed, int count, long waitMillis)
+			throws RemoteException;
+
+	/**
+	 * Add a single result item to the job's ResultSpace
+	 *
+	 * @param jobId the id of the job
 	 * @param dataResult the result to return.  See {@link javagrid.common.DataResult}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void addResult(DataResult dataResult) throws RemoteException;
+	public void addResult(String jobId, DataResult dataResult) throws RemoteException;
+
+	/**
+	 * Add a batch of result items to the job's ResultSpace.  Returns once the whole batch is held by the ResultSpace, and is
+	 * in the TaskSpace journal when it is enabled
+	 *
+	 * @param jobId the id of the job
+	 * @param dataResults the results to return.  See {@link javagrid.common.DataResult}
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public void addResults(String jobId, List<DataResult> dataResults) throws RemoteException;
 
 	/**
-	 * Take a result item from the ResultSpace
+	 * Take a result item from the job's ResultSpace
+	 * @param jobId the id of the job
 	 * @param key the id of the result to take
 	 * @return DataResult to return.  See {@link javagrid.common.DataResult}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public DataResult takeResult(int key) throws RemoteException;
+	public DataResult takeResult(String jobId, long key) throws RemoteException;
 
 	/**
-	 * Add a single data item to the DataSpace
+	 * Add a single data item to the job's DataSpace
 	 *
+	 * @param jobId the id of the job
 	 * @param dataResult the data item to add.  See {@link javagrid.common.DataResult}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void addData(DataResult dataResult) throws RemoteException;
+	public void addData(String jobId, DataResult dataResult) throws RemoteException;
 
 	/**
-	 * Take a data item from DataSpace
+	 * Take a data item from the job's DataSpace
 	 *
+	 * @param jobId the id of the job
 	 * @param key the id of the data item
 	 * @return the item.  See {@link javagrid.common.DataResult}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public DataResult takeData(int key) throws RemoteException;
+	public DataResult takeData(String jobId, long key) throws RemoteException;
+
+	/**
+	 * Take a range of data items from the job's DataSpace in one call.  Only the objects of the items are returned, not
+	 * their visual values.  The range is cut short at the end of the DataSpace and after {@link #MAX_DATA_RANGE} items
+	 *
+	 * @param jobId the id of the job
+	 * @param startKey the id of the first data item, from 0
+	 * @param endKey the id of the last data item, inclusive, no less than startKey
+	 * @return the object of each item in the range, in order from startKey, which may be fewer than asked for
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 * @throws IllegalArgumentException if startKey is negative or endKey is before startKey
+	 */
+	public Object[] takeDataRange(String jobId, long startKey, long endKey) throws RemoteException;
 
 	/**
-	 * Clear the entire DataSpace of inputs
+	 * Clear the job's entire DataSpace of inputs
 	 *
+	 * @param jobId the id of the job
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void clearDataSpace() throws RemoteException;
+	public void clearDataSpace(String jobId) throws RemoteException;
 
 	/**
 	 * Called by a Worker which has met the termination condition defined in {@link javagrid.master.job.Job}
 	 *
+	 * @param jobId the id of the job to terminate
 	 * @param uuid the id of the Worker which raised the termination request
 	 * @param terminateNow whether the job should complete immediately, or Workers should terminate at end of current task
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void raiseTermination(String uuid, boolean terminateNow) throws RemoteException;
+	public void raiseTermination(String jobId, String uuid, boolean terminateNow) throws RemoteException;
 
 	/**
 	 * Notification to the TaskSpace, by the Worker, that they have completed a task
 	 *
 	 * @param theTask the completed task returned to the TaskSpace
-	 * @param status the status of completed task
+	 * @param status the status of completed task.  A task returned with status 1 (failed) is put back in the task queue
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
 	public void taskComplete(Task theTask, int status) throws RemoteException;
@@ -160,20 +233,37 @@ public interface TaskSpaceInt extends Remote{
 	/**
 	 * File transfer call for the TaskSpace to transfer a file
 	 * 
+	 * @param jobId the id of the job the file belongs to
 	 * @param fileType the file to be sent
 	 * @param gzipCompressedStream if gzip compressed streams should be used
 	 * @return a RemoteInputStream which is output on the receiving side
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public RemoteInputStream sendFile(String fileType, boolean gzipCompressedStream) throws RemoteException;
+	public RemoteInputStream sendFile(String jobId, String fileType, boolean gzipCompressedStream) throws RemoteException;
+
+	/**
+	 * Upload the result file of a finished task from the Worker to the TaskSpace.  Returns once the file is on the TaskSpace's
+	 * disk, so the Worker reports the task complete only after its result file is safe
+	 *
+	 * @param jobId the id of the job the file belongs to
+	 * @param taskId the id of the task whose result file it is
+	 * @param fileStream the contents of the file, as a RemoteInputStream which is read on the receiving side
+	 * @param checksum the CRC32 checksum of the file's contents
+	 * @return true if the TaskSpace holds the task's result file, false if it could not be stored intact and should be sent
+	 * again
+	 * @throws RemoteException RMI calls must throw RemoteException
+	 */
+	public boolean uploadResultFile(String jobId, String taskId, RemoteInputStream fileStream, long checksum)
+			throws RemoteException;
 
 	/**
 	 * Call to the TaskSpace to amalgamate the results once all computations are finished
 	 * 
+	 * @param jobId the id of the job
 	 * @param amalgamate the Amalgamation class which contains the user defined logic.  See {@link javagrid.master.job.Amalgamate}
 	 * @throws RemoteException RMI calls must throw RemoteException
 	 */
-	public void amalgamateResults(AmalgamateInt amalgamate) throws RemoteException;
+	public void amalgamateResults(String jobId, AmalgamateInt amalgamate) throws RemoteException;
 
 
 }
\ No newline at end of file
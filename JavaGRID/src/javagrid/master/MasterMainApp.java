@@ -62,6 +62,7 @@ import javagrid.utils.DiskIO;
 import javagrid.utils.Heartbeat;
 import javagrid.utils.Networking;
 import javagrid.utils.ShortUUID;
+import javagrid.utils.StubCache;
 
 import org.hyperic.sigar.SigarException;
 
@@ -107,12 +108,12 @@ public class MasterMainApp extends Application implements MasterInt {
 	private Amalgamate amal;
 	public boolean paused;
 	private JobXML jobConfig;
-	public int indexCounter;
+	public long indexCounter;
 
 	private String jobID;
 	private Mode jobMode;
 	private DataSource inputSource;
-	private int continuation;
+	private long continuation;
 	private ResultDestination outputDestination;
 	private Algorithm algorithm;
 	private int granularity;
@@ -355,8 +356,7 @@ public class MasterMainApp extends Application implements MasterInt {
 	private boolean connectToTaskSpace(){
 
 	    try {
-	    	Registry taskSpaceRegistry = LocateRegistry.getRegistry(taskSpaceIP, taskSpacePort);
-	    	taskSpaceCommon = (TaskSpaceInt) taskSpaceRegistry.lookup("TaskSpaceRMI");
+	    	taskSpaceCommon = StubCache.getInstance().lookup("TaskSpace", taskSpaceIP, taskSpacePort, "TaskSpaceRMI");
 
 	    	//provide security token to TaskSpace.  If not accepted, terminate
 	    	if (!taskSpaceCommon.authenticate(authToken, "Master", InetAddress.getLocalHost().getHostName())){
@@ -394,6 +394,13 @@ public class MasterMainApp extends Application implements MasterInt {
 	}
 
 
+	/* (non-Javadoc)
+	 * @see javagrid.interfaces.MasterInt#getUUID()
+	 */
+	public String getUUID() throws RemoteException{
+		return uuid;
+	}
+
 	/* (non-Javadoc)
 	 * @see javagrid.interfaces.MasterInt#registerNode(java.lang.String, java.lang.String, int)
 	 */
@@ -401,11 +408,14 @@ public class MasterMainApp extends Application implements MasterInt {
 		try {
 			String ip = UnicastRemoteObject.getClientHost();
 			System.out.println("Worker connected from: " + ip + ":" + port);
-			connectToWorker(ip, port);
+			connectToWorker(uuid, ip, port);
 			saveJobConfig();
 			loadJobConfig();
-			workerCommon.jobParameters(new JobParameters(paused, jobID, jobMode, inputSource, continuation, outputDestination,
-					pulseInterval, compressFiles, compressStreams, algorithm, granularity, taskTimeout));
+			JobParameters workerParam = new JobParameters(paused, jobID, jobMode, inputSource, continuation, outputDestination,
+					pulseInterval, compressFiles, compressStreams, algorithm, granularity, taskTimeout);
+			workerParam.setParallelItems(jobConfig.parallelItems);
+			workerParam.setItemConcurrency(jobConfig.itemConcurrency);
+			workerCommon.jobParameters(workerParam);
 			startJob();
 		} catch (ServerNotActiveException e) {
 			e.printStackTrace();
@@ -413,17 +423,17 @@ public class MasterMainApp extends Application implements MasterInt {
 	}
 
 	/**
-	 * callback connection to the Worker.  
+	 * callback connection to the Worker.  The Worker's stub is cached, so a Worker registering again is not looked up again
 	 * 
+	 * @param uuid the id of the Worker
 	 * @param ip the ip address of the Worker
 	 * @param port the port of the Worker
 	 * @return true if successful, false otherwise
 	 */
-	private boolean connectToWorker(String ip, int port){
+	private boolean connectToWorker(String uuid, String ip, int port){
 
 	    try {
-	    	Registry workerRegistry = LocateRegistry.getRegistry(ip, port);
-	    	workerCommon = (WorkerInt) workerRegistry.lookup("WorkerRMI");
+	    	workerCommon = StubCache.getInstance().lookup(uuid, ip, port, "WorkerRMI");
 
 	    	//on calling back the authenticated Worker, provide own security token.  Terminate if not accepted
 	    	if (!workerCommon.authenticate(authToken, "Master", InetAddress.getLocalHost().getHostName())){
@@ -458,7 +468,7 @@ public class MasterMainApp extends Application implements MasterInt {
 	private void startAmalgamation(){
 		
 		try {
-			taskSpaceCommon.amalgamateResults(amal);
+			taskSpaceCommon.amalgamateResults(jobID, amal);
 		} catch (RemoteException e) {
 			e.printStackTrace();
 		}
@@ -506,7 +516,8 @@ public class MasterMainApp extends Application implements MasterInt {
 
 		masterMainController.setLblStart(jobT.getCurrentTime());
 		jobT.startTimer();
-		taskSpaceCommon.notification(Notification.RESET, "");
+		firstTask.setJobId(jobID);
+		taskSpaceCommon.notification(jobID, Notification.RESET, "");
 		taskSpaceCommon.addTask(firstTask);
 
 	}
@@ -525,7 +536,7 @@ public class MasterMainApp extends Application implements MasterInt {
 		} else if (type == Notification.SUCCESS){
 
 			getFileFromTaskSpace(masterMainController.getAmalgamatedFile().getPath(), compressStreams);
-			taskSpaceCommon.notification(Notification.SUCCESS, uuid);
+			taskSpaceCommon.notification(jobID, Notification.SUCCESS, uuid);
 
 		      Platform.runLater(new Runnable() {
 		          @Override
@@ -577,7 +588,7 @@ public class MasterMainApp extends Application implements MasterInt {
 			if (inputValue != null){
 				try {
 					//every item read, is sent to TaskSpace to go into DataSpace
-					taskSpaceCommon.addData(new DataResult(indexCounter, inputValue, inputValue));
+					taskSpaceCommon.addData(jobID, new DataResult(indexCounter, inputValue, inputValue));
 				} catch (RemoteException e) {
 					e.printStackTrace();
 				}
@@ -625,7 +636,7 @@ public class MasterMainApp extends Application implements MasterInt {
 
 		try {
 			//notify TaskSpace that the input file is ready for collection
-			taskSpaceCommon.notification(Notification.INPUT_READY, masterMainController.getTfJobID());
+			taskSpaceCommon.notification(masterMainController.getTfJobID(), Notification.INPUT_READY, masterMainController.getTfJobID());
 		} catch (RemoteException e) {
 			e.printStackTrace();
 		}
@@ -640,7 +651,7 @@ public class MasterMainApp extends Application implements MasterInt {
 	public void notifyTaskSpace(Notification notification, String value){
 
 				try {
-			    	taskSpaceCommon.notification(notification, value);
+			    	taskSpaceCommon.notification(jobID, notification, value);
 				} catch (RemoteException e) {
 					e.printStackTrace();
 				}
@@ -653,7 +664,7 @@ public class MasterMainApp extends Application implements MasterInt {
 	public void requestDataSpaceCleared(){
 
 		try {
-			taskSpaceCommon.clearDataSpace();
+			taskSpaceCommon.clearDataSpace(jobID);
 		} catch (RemoteException e) {
 			e.printStackTrace();
 		}
@@ -704,7 +715,7 @@ public class MasterMainApp extends Application implements MasterInt {
 				masterMainController.setCbRange(true);
 				masterMainController.setDisableTfIndexStart(false);
 				masterMainController.setDisableTfIndexEnd(false);
-				continuation = Integer.parseInt(jobConfig.startIndex);
+				continuation = Long.parseLong(jobConfig.startIndex);
 			}else if (jobConfig.range.equals("false")){
 				masterMainController.setCbRange(false);
 				masterMainController.setDisableTfIndexStart(true);
@@ -736,7 +747,7 @@ public class MasterMainApp extends Application implements MasterInt {
 			masterMainController.setCbCompressFiles(Boolean.parseBoolean(jobConfig.compressFiles));
 			masterMainController.setCbCompressStreams(Boolean.parseBoolean(jobConfig.compressStreams));
 
-			// (reserved/deprecated) balancing algorithm
+			// balancing algorithm
 			if (jobConfig.algorithm.equals("STATIC")){
 				algorithm = Algorithm.STATIC;
 				masterMainController.setRbStatic(true);
@@ -809,7 +820,7 @@ public class MasterMainApp extends Application implements MasterInt {
 		if(masterMainController.getTfIndexStart().equals("")){
 			continuation = 0;
 		}else{
-			continuation = Integer.parseInt(masterMainController.getTfIndexStart());
+			continuation = Long.parseLong(masterMainController.getTfIndexStart());
 		}
 
 		//stop current pulse timer, and restart with new set value
@@ -859,7 +870,7 @@ public class MasterMainApp extends Application implements MasterInt {
 		compressFiles = masterMainController.getCbCompressFiles();
 		compressStreams = masterMainController.getCbCompressStreams();
 
-		// (reserved/deprecated) balancing algorithm
+		// balancing algorithm
 		if (rbAlgorthim.getId().equals("rbStatic")){
 			algorithm = Algorithm.STATIC;
 			algorthim = "STATIC";
@@ -880,8 +891,12 @@ public class MasterMainApp extends Application implements MasterInt {
 
 		//send job param to taskspace as well as saving to disk
 		try {
-			taskSpaceCommon.jobParameters(new JobParameters(paused, jobID, jobMode, inputSource, continuation, outputDestination,
-					pulseInterval, compressFiles, compressStreams, algorithm, granularity, taskTimeout));
+			JobParameters jobParam = new JobParameters(paused, jobID, jobMode, inputSource, continuation, outputDestination,
+					pulseInterval, compressFiles, compressStreams, algorithm, granularity, taskTimeout);
+			jobParam.setMasterUuid(uuid);
+			jobParam.setParallelItems(jobConfig.parallelItems);
+			jobParam.setItemConcurrency(jobConfig.itemConcurrency);
+			taskSpaceCommon.jobParameters(jobParam);
 		} catch (RemoteException e) {
 			e.printStackTrace();
 		}
@@ -952,9 +967,9 @@ public class MasterMainApp extends Application implements MasterInt {
 		  try {
 			InputStream istream;
 	    	if (gzipCompressedStream){
-	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile("AmalgamatedFile", true));
+	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile(jobID, "AmalgamatedFile", true));
 	    	}else{
-	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile("AmalgamatedFile", false));
+	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile(jobID, "AmalgamatedFile", false));
 	    	}
 	    	DiskIO.copyInputStreamToFile(istream, new File(localFilePath));
 		} catch (IOException e) {
@@ -0,0 +1,252 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javagrid.common.Task;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * Places the tasks of a job so that each host works through its own contiguous blocks of the index space.  Workers on the
+ * same host share one copy of the input file, so neighbouring ranges read by the same host keep the page cache and SQLite
+ * cache warm.  A host reserves a block of several tasks from the job's {@link TaskCursor} and its Workers carve tasks from
+ * it in order.  Once the cursor reaches the end of the input, a host whose blocks have run out steals the upper half of the
+ * largest block left on another host.  Blocks still unclaimed when termination is raised are drained so the job can retry
+ * them.
+ */
+public class HostPlacement {
+
+	// tasks' worth of items reserved by a host at a time
+	private static final int TASKS_PER_BLOCK = 16;
+
+	private TaskCursor cursor;
+	private volatile long indexLimit = 0;
+	private ConcurrentMap<String, HostBlocks> hosts = new ConcurrentHashMap<>();
+	private ReserveListener listener;
+
+	/**
+	 * told of each block reserved for a host, for example to journal it
+	 */
+	public interface ReserveListener {
+		void reserved(long startIndex, long endIndex);
+	}
+
+	/**
+	 * @param cursor the head of the job's index space, from which blocks are reserved
+	 */
+	public HostPlacement(TaskCursor cursor) {
+		this.cursor = cursor;
+	}
+
+	/**
+	 * @param indexLimit the index at which the input ends, or 0 if unknown.  Blocks are only stolen once the cursor has passed it
+	 */
+	public void setIndexLimit(long indexLimit) {
+		this.indexLimit = indexLimit;
+	}
+
+	/**
+	 * @param listener told of each block reserved for a host
+	 */
+	public void setReserveListener(ReserveListener listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * forget the blocks held by every host, for example when the job is restarted
+	 */
+	public void clear() {
+		hosts.clear();
+	}
+
+	/**
+	 * remove the unclaimed items of every host, for example to retry them once no new tasks are claimed
+	 *
+	 * @return the unclaimed ranges, each as its first and last index
+	 */
+	public List<long[]> drain() {
+
+		List<long[]> drained = new ArrayList<long[]>();
+		for (HostBlocks blocks : hosts.values()) {
+			drained.addAll(blocks.drain());
+		}
+		return drained;
+	}
+
+	/**
+	 * claim the next range of items for a Worker from the blocks of its host, sized by the job's scheduling algorithm
+	 *
+	 * @param uuid the Worker claiming the task
+	 * @param hostname the host the Worker runs on
+	 * @param scheduler the scheduling algorithm used to size the task
+	 * @return a new task covering the claimed range, or null if the cursor is closed
+	 */
+	public Task claim(String uuid, String hostname, SchedulerInt scheduler) {
+
+		HostBlocks own = hosts.computeIfAbsent(hostname, k -> new HostBlocks());
+
+		while (cursor.isOpen()) {
+			Task theTask = own.take(uuid, scheduler);
+			if (theTask != null) {
+				return theTask;
+			}
+
+			if (reserve(own, uuid, scheduler) || steal(own)) {
+				continue;
+			}
+
+			// nothing is left to share out, so carry on past the end of the input as Workers did before
+			return cursor.claim(uuid, scheduler);
+		}
+		return null;
+	}
+
+	/**
+	 * @param hostname the host
+	 * @return the number of items reserved by the host and not yet claimed by its Workers
+	 */
+	public long remaining(String hostname) {
+
+		HostBlocks blocks = hosts.get(hostname);
+		return blocks == null ? 0 : blocks.remaining();
+	}
+
+	/**
+	 * reserve the next block of the index space from the cursor for a host
+	 *
+	 * @return true if a block was reserved, false if the cursor is at the end of the input
+	 */
+	private boolean reserve(HostBlocks own, String uuid, SchedulerInt scheduler) {
+
+		long limit = indexLimit;
+		long blockSize = (long) scheduler.nextTaskSize(uuid, cursor.getNextIndex()) * TASKS_PER_BLOCK;
+		if (limit > 0) {
+			long remaining = limit - cursor.getNextIndex();
+			if (remaining <= 0) {
+				return false;
+			}
+			blockSize = Math.min(blockSize, remaining);
+		}
+
+		long startIndex = cursor.reserve(blockSize);
+		if (startIndex < 0) {
+			return false;
+		}
+		own.add(startIndex, startIndex + blockSize);
+		if (listener != null) {
+			listener.reserved(startIndex, startIndex + blockSize);
+		}
+		return true;
+	}
+
+	/**
+	 * move the upper half of the largest block held by another host to a host whose blocks have run out.  A single item
+	 * left on another host is moved whole, so no item is stranded once the cursor reaches the end of the input
+	 *
+	 * @return true if a range was stolen, false if no other host has items left to share
+	 */
+	private boolean steal(HostBlocks own) {
+
+		while (true) {
+			HostBlocks victim = null;
+			long largest = 0;
+			for (Map.Entry<String, HostBlocks> entry : hosts.entrySet()) {
+				long remaining = entry.getValue().remaining();
+				if (entry.getValue() != own && remaining > largest) {
+					victim = entry.getValue();
+					largest = remaining;
+				}
+			}
+			if (victim == null) {
+				return false;
+			}
+
+			// the victim's lock is released before the stolen range is added, so two hosts stealing from each other never
+			// deadlock.  If the victim's Workers claimed its last items meanwhile, look again
+			long[] range = victim.split();
+			if (range != null) {
+				own.add(range[0], range[1]);
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * the blocks reserved by one host, as ranges of items from the first unclaimed index up to an exclusive end
+	 */
+	private static class HostBlocks {
+
+		private ArrayDeque<long[]> ranges = new ArrayDeque<long[]>();
+
+		synchronized Task take(String uuid, SchedulerInt scheduler) {
+
+			long[] range = ranges.peekFirst();
+			if (range == null) {
+				return null;
+			}
+
+			long startIndex = range[0];
+			int sized = scheduler.nextTaskSize(uuid, startIndex);
+			int size = (int) Math.min(sized, range[1] - startIndex);
+			range[0] = startIndex + size;
+			if (range[0] >= range[1]) {
+				ranges.pollFirst();
+			}
+			scheduler.taskClaimed(uuid, sized);
+			return new Task(startIndex, startIndex + size - 1, false);
+		}
+
+		synchronized void add(long startIndex, long endIndex) {
+			ranges.offerLast(new long[] { startIndex, endIndex });
+		}
+
+		synchronized long remaining() {
+
+			long remaining = 0;
+			for (long[] range : ranges) {
+				remaining = remaining + (range[1] - range[0]);
+			}
+			return remaining;
+		}
+
+		synchronized long[] split() {
+
+			long[] range = ranges.peekLast();
+			if (range == null) {
+				return null;
+			}
+			if (range[1] - range[0] < 2) {
+				return ranges.pollLast();
+			}
+
+			long middle = range[0] + (range[1] - range[0]) / 2;
+			long[] stolen = new long[] { middle, range[1] };
+			range[1] = middle;
+			return stolen;
+		}
+
+		synchronized List<long[]> drain() {
+
+			List<long[]> drained = new ArrayList<long[]>();
+			for (long[] range : ranges) {
+				drained.add(new long[] { range[0], range[1] - 1 });
+			}
+			ranges.clear();
+			return drained;
+		}
+	}
+
+}
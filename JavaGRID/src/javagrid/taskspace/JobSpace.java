@@ -0,0 +1,147 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javagrid.common.DataResult;
+import javagrid.common.JobParameters;
+import javagrid.common.Task;
+import javagrid.enumeration.DataSource;
+import javagrid.enumeration.ResultDestination;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * The state the TaskSpace keeps for one job.  Several jobs can run on the TaskSpace at the same time, each with its own index
+ * space, retry queue, DataSpace, ResultSpace and termination state, so tasks, inputs and results of one job never mix with
+ * those of another.  Jobs are identified by their job id with any spaces removed, as used in file and folder names by Workers.
+ */
+public class JobSpace {
+
+	// job parameters
+	JobParameters theJob;
+	String jobID;
+	String key;
+	String masterUuid;
+	DataSource datasource;
+	ResultDestination outputDestination;
+	int granularity;
+	int taskTimeout;
+	SchedulerInt scheduler = new StaticScheduler(1);
+	SpeculativeExecution speculation = new SpeculativeExecution();
+
+	// Task cursor + retry queue, with the number of tasks waiting in it, as the size of the queue is not kept
+	TaskCursor taskCursor = new TaskCursor();
+	HostPlacement placement = new HostPlacement(taskCursor);
+	private ConcurrentLinkedQueue<Task> retryTasks = new ConcurrentLinkedQueue<Task>();
+	private AtomicInteger retriesPending = new AtomicInteger();
+
+	// DataSpace + ResultSpace
+	ArrayList<DataResult> dataSpace = new ArrayList<DataResult>();
+	ConcurrentSkipListMap<Long, DataResult> resultSpace = new ConcurrentSkipListMap<Long, DataResult>();
+	Map<Long, String> unsortedResultsTreeMap = new TreeMap<Long, String>();
+	Map<Long, String> sortedResultsTreeMap = new TreeMap<Long, String>();
+	NavigableSet<Long> ns;
+
+	// termination flags
+	boolean terminationRaised = false;
+	boolean terminateImmediate = false;
+	String terminatedCallingWorker;
+	boolean finalTaskReturned;
+	boolean amalgmateStarted;
+	long inputFileSize = 0;
+
+	/**
+	 * @param jobID the id of the job, as entered on the Master
+	 */
+	public JobSpace(String jobID) {
+		this.jobID = jobID;
+		this.key = key(jobID);
+	}
+
+	/**
+	 * @param jobID a job id, as entered on the Master or as used by a Worker
+	 * @return the id the job is known by in the TaskSpace
+	 */
+	public static String key(String jobID) {
+		return jobID == null ? "" : jobID.replace(" ", "");
+	}
+
+	/**
+	 * @return the id of the job, as entered on the Master
+	 */
+	public String getJobID() {
+		return jobID;
+	}
+
+	/**
+	 * @return the id the job is known by in the TaskSpace
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * @return the id of the job's row in the available queue of the UI, while new tasks can be claimed
+	 */
+	String nextTaskRow() {
+		return "NextTask-" + key;
+	}
+
+	/**
+	 * @return the id of the job's row in the available queue of the UI, while a returned task waits to be retried
+	 */
+	String retryRow() {
+		return "Retry-" + key;
+	}
+
+	/**
+	 * @param theTask a returned task to wait in the retry queue
+	 */
+	void offerRetry(Task theTask) {
+		retriesPending.incrementAndGet();
+		retryTasks.offer(theTask);
+	}
+
+	/**
+	 * @return the returned task which has waited longest, or null if none are waiting
+	 */
+	Task pollRetry() {
+
+		Task theTask = retryTasks.poll();
+		if (theTask != null) {
+			retriesPending.decrementAndGet();
+		}
+		return theTask;
+	}
+
+	/**
+	 * @return the number of returned tasks waiting to be retried
+	 */
+	int retriesPending() {
+		return retriesPending.get();
+	}
+
+	/**
+	 * drop every task waiting to be retried
+	 */
+	void clearRetries() {
+
+		while (pollRetry() != null) {
+		}
+	}
+
+}
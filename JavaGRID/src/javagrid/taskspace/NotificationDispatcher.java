@@ -0,0 +1,269 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import javagrid.common.MasterNode;
+import javagrid.common.Node;
+import javagrid.common.WorkerNode;
+import javagrid.enumeration.Notification;
+import javagrid.interfaces.MasterInt;
+import javagrid.interfaces.WorkerInt;
+import javagrid.utils.StubCache;
+
+/**
+ * Sends notifications from the TaskSpace to Master and Worker nodes.  Each node's stub is taken from the process's
+ * {@link javagrid.utils.StubCache} and authenticated once, until a call to the node fails.  Nodes are notified in parallel
+ * on a bounded pool of threads, while the notifications to any one node are sent in the order they were raised.  A NEW_TASK
+ * notification already waiting to be sent to a node is not queued again, and grid information updates raised within a
+ * short window are sent as one.
+ */
+public class NotificationDispatcher {
+
+	// number of nodes notified at the same time
+	private static final int SENDERS = 16;
+
+	// window in which grid information updates are merged into one, in milliseconds
+	private static final long COALESCE_WINDOW = 200;
+
+	private String authToken;
+	private Consumer<String> authFailure;
+	private String hostname;
+
+	private ScheduledThreadPoolExecutor senders;
+	private Set<String> authenticated = ConcurrentHashMap.newKeySet();
+	private ConcurrentMap<String, NodeQueue> queues = new ConcurrentHashMap<>();
+
+	private AtomicBoolean gridInfoScheduled = new AtomicBoolean(false);
+	private volatile Collection<MasterNode> gridInfoMasters;
+	private volatile int recruited;
+	private volatile int totalCpu;
+	private volatile long totalRam;
+
+	/**
+	 * @param authToken the token the TaskSpace authenticates with
+	 * @param authFailure called with the node type, "Worker" or "Master", when a node rejects the token
+	 */
+	public NotificationDispatcher(String authToken, Consumer<String> authFailure) {
+		this.authToken = authToken;
+		this.authFailure = authFailure;
+
+		senders = new ScheduledThreadPoolExecutor(SENDERS, r -> {
+			Thread thread = new Thread(r, "NotificationDispatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * notify every Worker
+	 *
+	 * @param workers the Workers to notify
+	 * @param notification the notification type
+	 * @param value supplementary values
+	 */
+	public void notifyWorkers(Collection<WorkerNode> workers, Notification notification, String value) {
+
+		for (WorkerNode wn : snapshot(workers)) {
+			queue(wn, true).offer(notification, stub -> ((WorkerInt) stub).notification(notification, value));
+		}
+	}
+
+	/**
+	 * notify every Master
+	 *
+	 * @param masters the Masters to notify
+	 * @param notification the notification type
+	 * @param value supplementary values
+	 */
+	public void notifyMasters(Collection<MasterNode> masters, Notification notification, String value) {
+
+		for (MasterNode mn : snapshot(masters)) {
+			queue(mn, false).offer(notification, stub -> ((MasterInt) stub).notification(notification, value));
+		}
+	}
+
+	/**
+	 * update every Master with the current state of the grid.  Updates raised within a short window of each other are sent
+	 * once, with the latest values
+	 *
+	 * @param masters the Masters to update
+	 * @param recruited the number of Workers recruited
+	 * @param totalCpu the total CPU capacity of the grid, in MHz
+	 * @param totalRam the total memory of the grid
+	 */
+	public void gridInfo(Collection<MasterNode> masters, int recruited, int totalCpu, long totalRam) {
+
+		this.gridInfoMasters = masters;
+		this.recruited = recruited;
+		this.totalCpu = totalCpu;
+		this.totalRam = totalRam;
+
+		if (gridInfoScheduled.compareAndSet(false, true)) {
+			senders.schedule(new Runnable() {
+				public void run() {
+					gridInfoScheduled.set(false);
+					int theRecruited = NotificationDispatcher.this.recruited;
+					int theCpu = NotificationDispatcher.this.totalCpu;
+					long theRam = NotificationDispatcher.this.totalRam;
+
+					for (MasterNode mn : snapshot(gridInfoMasters)) {
+						queue(mn, false).offer(null, stub -> ((MasterInt) stub).gridInfo(theRecruited, theCpu, theRam));
+					}
+				}
+			}, COALESCE_WINDOW, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * forget a node which has left the grid, along with any notifications still waiting to be sent to it
+	 *
+	 * @param uuid the id of the node
+	 */
+	public void removeNode(String uuid) {
+		authenticated.remove(uuid);
+		queues.remove(uuid);
+	}
+
+	private NodeQueue queue(Node node, boolean worker) {
+		return queues.computeIfAbsent(node.getUUID(), k -> new NodeQueue(node, worker));
+	}
+
+	private <T> List<T> snapshot(Collection<T> nodes) {
+		return new ArrayList<T>(nodes);
+	}
+
+	/**
+	 * get a node's cached stub, authenticating with the node the first time it is used
+	 */
+	private Remote stub(Node node, boolean worker) throws RemoteException, NotBoundException, UnknownHostException {
+
+		Remote stub = StubCache.getInstance().lookup(node.getUUID(), node.getIP(), Integer.parseInt(node.getPort()),
+				worker ? "WorkerRMI" : "MasterRMI");
+		if (authenticated.contains(node.getUUID())) {
+			return stub;
+		}
+
+		if (hostname == null) {
+			hostname = InetAddress.getLocalHost().getHostName();
+		}
+
+		boolean accepted;
+		if (worker) {
+			accepted = ((WorkerInt) stub).authenticate(authToken, "TaskSpace", hostname);
+		} else {
+			accepted = ((MasterInt) stub).authenticate(authToken, "TaskSpace", hostname);
+		}
+
+		if (!accepted) {
+			String clientType = worker ? "Worker" : "Master";
+			authFailure.accept(clientType);
+			throw new SecurityException("Authentication error - The supplied authentication token was rejected by the "
+					+ clientType + " at: " + node.getHostname());
+		}
+
+		authenticated.add(node.getUUID());
+		return stub;
+	}
+
+	/**
+	 * a remote call to make on a node's stub
+	 */
+	private interface RemoteCall {
+		void send(Remote stub) throws RemoteException;
+	}
+
+	/**
+	 * the notifications waiting to be sent to one node, drained in order by at most one sender at a time
+	 */
+	private class NodeQueue {
+
+		private Node node;
+		private boolean worker;
+		private ConcurrentLinkedQueue<RemoteCall> pending = new ConcurrentLinkedQueue<RemoteCall>();
+		private AtomicBoolean draining = new AtomicBoolean(false);
+		private AtomicBoolean newTaskPending = new AtomicBoolean(false);
+
+		NodeQueue(Node node, boolean worker) {
+			this.node = node;
+			this.worker = worker;
+		}
+
+		void offer(Notification notification, RemoteCall call) {
+
+			if (notification == Notification.NEW_TASK) {
+				// the node has not yet been told of the last new task, so there is nothing more to tell it
+				if (!newTaskPending.compareAndSet(false, true)) {
+					return;
+				}
+				RemoteCall newTask = call;
+				call = stub -> {
+					newTaskPending.set(false);
+					newTask.send(stub);
+				};
+			}
+
+			pending.offer(call);
+			if (draining.compareAndSet(false, true)) {
+				senders.execute(this::drain);
+			}
+		}
+
+		private void drain() {
+
+			while (true) {
+				RemoteCall call;
+				while ((call = pending.poll()) != null) {
+					send(call);
+				}
+
+				// a notification may have been queued after the queue was found empty
+				draining.set(false);
+				if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+					return;
+				}
+			}
+		}
+
+		private void send(RemoteCall call) {
+
+			try {
+				try {
+					call.send(stub(node, worker));
+				} catch (RemoteException e) {
+					// the cached stub may belong to a node which has since restarted, so look it up again and retry once
+					StubCache.getInstance().invalidate(node.getUUID());
+					authenticated.remove(node.getUUID());
+					call.send(stub(node, worker));
+				}
+			} catch (NumberFormatException | RemoteException | NotBoundException | UnknownHostException
+					| SecurityException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,113 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javagrid.common.Task;
+import javagrid.common.WorkerNode;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * The PRIORI scheduling algorithm.  Tasks are sized from each Worker's hardware, as sent in its node specification, relative
+ * to the rest of the grid.  A Worker with twice the average capacity receives tasks of twice the job granularity.
+ * <p>
+ * Capacity is the clock speed multiplied by the number of cores, shared between the Worker instances running on the same
+ * host.  A Worker whose JVM has less memory than the grid average has its capacity reduced in proportion, so that large tasks
+ * are not given to memory starved nodes.
+ */
+public class PrioriScheduler implements SchedulerInt {
+
+	private int granularity;
+
+	private Map<String, WorkerNode> workers = new HashMap<String, WorkerNode>();
+	private ConcurrentMap<String, Double> weights = new ConcurrentHashMap<>();
+
+	/**
+	 * @param granularity the job granularity, which is the task size given to a Worker of average capacity
+	 */
+	public PrioriScheduler(int granularity) {
+		this.granularity = Math.max(1, granularity);
+	}
+
+	public synchronized void addWorker(WorkerNode workerNode) {
+		workers.put(workerNode.getUUID(), workerNode);
+		calculateWeights();
+	}
+
+	public synchronized void removeWorker(String uuid) {
+		workers.remove(uuid);
+		calculateWeights();
+	}
+
+	public void setIndexLimit(long indexLimit) {
+	}
+
+	public void taskClaimed(String uuid, int size) {
+	}
+
+	public void taskComplete(Task theTask) {
+	}
+
+	public int nextTaskSize(String uuid, long startIndex) {
+
+		// Workers without a node specification are treated as average
+		double weight = weights.getOrDefault(uuid, 1.0);
+		return (int) Math.max(1, Math.round(granularity * weight));
+	}
+
+	/**
+	 * recalculate the weight of every Worker, relative to the grid average, after the grid has changed
+	 */
+	private void calculateWeights() {
+
+		weights.clear();
+
+		// count the Worker instances sharing each host
+		Map<String, Integer> instances = new HashMap<String, Integer>();
+		for (WorkerNode wn : workers.values()) {
+			instances.merge(wn.getHostname(), 1, Integer::sum);
+		}
+
+		// capacity of each Worker, and the grid totals, ignoring Workers which reported no hardware details
+		Map<String, Double> capacity = new HashMap<String, Double>();
+		double totalCapacity = 0;
+		double totalMemory = 0;
+		for (WorkerNode wn : workers.values()) {
+			if (wn.getMhz() > 0 && wn.getTotalCores() > 0) {
+				double theCapacity = (double) wn.getMhz() * wn.getTotalCores() / instances.get(wn.getHostname());
+				capacity.put(wn.getUUID(), theCapacity);
+				totalCapacity += theCapacity;
+				totalMemory += wn.getJvmMaxMemory();
+			}
+		}
+
+		if (capacity.isEmpty()) {
+			return;
+		}
+
+		double averageCapacity = totalCapacity / capacity.size();
+		double averageMemory = totalMemory / capacity.size();
+
+		for (Map.Entry<String, Double> entry : capacity.entrySet()) {
+			double weight = entry.getValue() / averageCapacity;
+
+			long memory = workers.get(entry.getKey()).getJvmMaxMemory();
+			if (averageMemory > 0 && memory > 0 && memory < averageMemory) {
+				weight = weight * (memory / averageMemory);
+			}
+			weights.put(entry.getKey(), weight);
+		}
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javagrid.utils.DiskIO;
+
+/**
+ * Stores the result files Workers upload to the TaskSpace.  Each upload is copied to disk on a bounded pool of transfer
+ * threads, so only a few files are written at once however many Workers upload together.  Once the pool and its queue are
+ * full, the uploading call copies its own file.  A file is written under a temporary name, forced to disk and checked
+ * against the checksum the Worker sent, and only then moved to its final name, so a result file is either whole and on disk
+ * or not there at all.
+ * <p>
+ * The pool limits how many files are written at once, but is not asynchronous: the uploading RMI call waits for its file to
+ * be stored, as the Worker only reports its task complete once the TaskSpace holds the result file.  The upload itself
+ * already runs on the Worker's publish threads, in the background of its computation.
+ */
+public class ResultFileIngest {
+
+	private ThreadPoolExecutor transferPool;
+
+	/**
+	 * @param threads the most files written at once
+	 * @param queue the most uploads waiting for a transfer thread
+	 */
+	public ResultFileIngest(int threads, int queue) {
+
+		transferPool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<Runnable>(Math.max(1, queue)), new ThreadPoolExecutor.CallerRunsPolicy());
+		transferPool.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * store an uploaded file, waiting while it is written on a transfer thread and returning once it is on disk
+	 *
+	 * @param in the contents of the file, which is closed once copied
+	 * @param target the file to store it as, replacing any file already there
+	 * @param checksum the CRC32 checksum of the file's contents, as computed by the Worker
+	 * @return true if the file was stored intact, false if it did not match its checksum or could not be written
+	 */
+	public boolean ingest(InputStream in, File target, long checksum) {
+
+		Future<Boolean> transfer = transferPool.submit(new Callable<Boolean>() {
+			public Boolean call() throws IOException {
+
+				Path temporary = Files.createTempFile(target.getParentFile().toPath(), target.getName(), ".part");
+				try {
+					if (DiskIO.copyInputStreamToFileSynced(in, temporary.toFile()) != checksum) {
+						System.out.println("Result file " + target.getName() + " did not match its checksum");
+						return false;
+					}
+					Files.move(temporary, target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+							StandardCopyOption.ATOMIC_MOVE);
+					return true;
+				} finally {
+					Files.deleteIfExists(temporary);
+				}
+			}
+		});
+
+		try {
+			return transfer.get();
+		} catch (ExecutionException e) {
+			e.getCause().printStackTrace();
+			return false;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * stop the transfer threads once the files being written are stored
+	 */
+	public void shutdown() {
+		transferPool.shutdown();
+	}
+
+}
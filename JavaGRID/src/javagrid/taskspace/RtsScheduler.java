@@ -0,0 +1,114 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javagrid.common.Task;
+import javagrid.common.WorkerNode;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * The RTS (runtime) scheduling algorithm.  The first task leased to a Worker is the size of the job granularity.  After that,
+ * each task is sized from the Worker's measured throughput so that it should take the target duration to compute.  Larger
+ * chunks mean fewer calls to the TaskSpace while the job is running.
+ * <p>
+ * When the size of the input is known, as for DataSpace and file inputs, tasks are also limited to half of the remaining
+ * items shared between the Workers, as in guided self-scheduling.  Chunks therefore shrink towards the end of the input, so
+ * that the final tasks finish at about the same time on every Worker.
+ */
+public class RtsScheduler implements SchedulerInt {
+
+	// the time each task should take to compute, in seconds
+	private static final double TARGET_DURATION = 10.0;
+
+	// weight given to the latest measurement in the throughput average
+	private static final double SMOOTHING = 0.5;
+
+	// the most a Worker's task size may grow from one task to the next
+	private static final int MAX_GROWTH = 2;
+
+	private int granularity;
+	private double targetDuration;
+	private volatile long indexLimit = 0;
+
+	private Set<String> workers = ConcurrentHashMap.newKeySet();
+	private ConcurrentMap<String, Double> throughput = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, Integer> lastSize = new ConcurrentHashMap<>();
+
+	/**
+	 * @param granularity the job granularity, used as the size of each Worker's first task
+	 * @param taskTimeout the job task timeout in seconds, or -1 if not used.  Tasks are sized to finish well within it
+	 */
+	public RtsScheduler(int granularity, int taskTimeout) {
+		this.granularity = Math.max(1, granularity);
+
+		if (taskTimeout > 0) {
+			this.targetDuration = Math.min(TARGET_DURATION, taskTimeout / 3.0);
+		} else {
+			this.targetDuration = TARGET_DURATION;
+		}
+	}
+
+	public void addWorker(WorkerNode workerNode) {
+		workers.add(workerNode.getUUID());
+	}
+
+	public void removeWorker(String uuid) {
+		workers.remove(uuid);
+		throughput.remove(uuid);
+		lastSize.remove(uuid);
+	}
+
+	public void setIndexLimit(long indexLimit) {
+		this.indexLimit = indexLimit;
+	}
+
+	public int nextTaskSize(String uuid, long startIndex) {
+
+		int size;
+		Double rate = throughput.get(uuid);
+
+		// no measurement yet, so use the job granularity
+		if (rate == null) {
+			size = granularity;
+		} else {
+			long target = Math.round(rate * targetDuration);
+			long previous = lastSize.getOrDefault(uuid, granularity);
+			size = (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.min(target, previous * MAX_GROWTH)));
+		}
+
+		// guided self-scheduling, when the end of the input is known
+		long limit = indexLimit;
+		if (limit > 0) {
+			long remaining = Math.max(0, limit - startIndex);
+			long guided = (remaining + (2L * Math.max(1, workers.size())) - 1) / (2L * Math.max(1, workers.size()));
+			size = (int) Math.max(1, Math.min(size, guided));
+		}
+
+		return size;
+	}
+
+	public void taskClaimed(String uuid, int size) {
+		lastSize.put(uuid, size);
+	}
+
+	public void taskComplete(Task theTask) {
+
+		// task durations are rounded to hundredths of a second by the Worker
+		double duration = Math.max(0.01, theTask.getTaskDuration());
+		double rate = (theTask.getEndIndex() - theTask.getStartIndex() + 1) / duration;
+
+		throughput.merge(theTask.getUuid(), rate, (previous, latest) -> (SMOOTHING * latest) + ((1 - SMOOTHING) * previous));
+	}
+
+}
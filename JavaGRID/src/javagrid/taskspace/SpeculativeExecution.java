@@ -0,0 +1,200 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javagrid.common.Task;
+
+/**
+ * Backup execution of straggler tasks at the end of a job.  Once no new or returned tasks remain, an idle Worker is given a
+ * copy of the task which has overrun its expected duration by the widest margin.  The expected duration of a task is taken
+ * from the seconds per item measured on each Worker's completed tasks.  Whichever copy of the task returns its result first is
+ * accepted, and the other is ignored.
+ */
+public class SpeculativeExecution {
+
+	// a task is a straggler once it has run this many times longer than the grid expects for its number of items
+	private static final double SLOWDOWN = 1.5;
+
+	// minimum time a task must run before it can be duplicated, in milliseconds
+	private static final long MIN_ELAPSED = 5000;
+
+	// weight given to the newest measurement in each Worker's seconds per item
+	private static final double SMOOTHING = 0.5;
+
+	private ConcurrentMap<String, Double> workerRates = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, String> partners = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, String> winners = new ConcurrentHashMap<>();
+	private Set<String> backedUp = ConcurrentHashMap.newKeySet();
+	private Set<String> announced = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * record the seconds per item measured on a fully computed task
+	 *
+	 * @param theTask the task returned by the Worker
+	 */
+	public void taskComplete(Task theTask) {
+
+		long items = theTask.getEndIndex() - theTask.getStartIndex() + 1;
+		if (items <= 0 || theTask.getTaskDuration() <= 0) {
+			return;
+		}
+
+		double rate = theTask.getTaskDuration() / items;
+		workerRates.merge(theTask.getUuid(), rate, (previous, latest) -> (SMOOTHING * latest) + ((1 - SMOOTHING) * previous));
+	}
+
+	/**
+	 * choose the active task which has overrun its expected duration by the widest margin, and reserve it so that it is only
+	 * backed up once
+	 *
+	 * @param tasks the tasks in the acquired task space
+	 * @param uuid the idle Worker which will run the backup copy
+	 * @return the straggler task, or null if no task should be backed up
+	 */
+	public synchronized Task selectStraggler(Collection<Task> tasks, String uuid) {
+
+		Task straggler = findStraggler(tasks, uuid);
+		if (straggler != null) {
+			backedUp.add(straggler.getID());
+		}
+		return straggler;
+	}
+
+	/**
+	 * check if a straggler has appeared since the last check, so idle Workers can be told to ask for it
+	 *
+	 * @param tasks the tasks in the acquired task space
+	 * @return true if a straggler is waiting to be backed up and Workers have not yet been told
+	 */
+	public boolean newStraggler(Collection<Task> tasks) {
+
+		Task straggler = findStraggler(tasks, null);
+		return straggler != null && announced.add(straggler.getID());
+	}
+
+	/**
+	 * link a task and its backup copy
+	 *
+	 * @param originalId the id of the straggler task
+	 * @param backupId the id of the backup copy
+	 */
+	public void pair(String originalId, String backupId) {
+		partners.put(originalId, backupId);
+		partners.put(backupId, originalId);
+	}
+
+	/**
+	 * @param taskId the task to look up
+	 * @return the id of the other copy of the task, or null if the task was never backed up
+	 */
+	public String getPartner(String taskId) {
+		return partners.get(taskId);
+	}
+
+	/**
+	 * claim the result of a task.  The first copy of a backed up task to claim its result wins, and the other copy is refused
+	 *
+	 * @param taskId the task returning a result
+	 * @return true if the result should be accepted, false if the other copy has already returned its result
+	 */
+	public boolean claim(String taskId) {
+
+		String partner = partners.get(taskId);
+		if (partner == null) {
+			return true;
+		}
+
+		// both copies share the id of the pair which sorts first
+		String pairId = taskId.compareTo(partner) < 0 ? taskId : partner;
+		String winner = winners.putIfAbsent(pairId, taskId);
+		return winner == null || winner.equals(taskId);
+	}
+
+	/**
+	 * give up a claimed result which could not be stored, so the other copy of the task may claim it instead
+	 *
+	 * @param taskId the task which claimed its result
+	 */
+	public void release(String taskId) {
+
+		String partner = partners.get(taskId);
+		if (partner == null) {
+			return;
+		}
+		String pairId = taskId.compareTo(partner) < 0 ? taskId : partner;
+		winners.remove(pairId, taskId);
+	}
+
+	/**
+	 * forget all measurements and backup copies, for example when the job is reset
+	 */
+	public void clear() {
+		workerRates.clear();
+		partners.clear();
+		winners.clear();
+		backedUp.clear();
+		announced.clear();
+	}
+
+	private Task findStraggler(Collection<Task> tasks, String uuid) {
+
+		double gridRate = gridRate();
+		if (gridRate <= 0) {
+			return null;
+		}
+
+		// a Worker which is itself slow would not finish a backup copy any sooner
+		Double ownRate = uuid == null ? null : workerRates.get(uuid);
+		if (ownRate != null && ownRate > gridRate * SLOWDOWN) {
+			return null;
+		}
+
+		long now = System.currentTimeMillis();
+		Task straggler = null;
+		double widestOverrun = SLOWDOWN;
+
+		for (Task theTask : tasks) {
+			if (theTask.getStatus() != 0 || theTask.getStartTime() == null || theTask.getUuid().equals(uuid)
+					|| backedUp.contains(theTask.getID()) || partners.containsKey(theTask.getID())) {
+				continue;
+			}
+
+			long elapsed = now - theTask.getStartTime().getTime();
+			if (elapsed < MIN_ELAPSED) {
+				continue;
+			}
+
+			long items = theTask.getEndIndex() - theTask.getStartIndex() + 1;
+			double overrun = elapsed / (items * gridRate * 1000);
+			if (overrun > widestOverrun) {
+				widestOverrun = overrun;
+				straggler = theTask;
+			}
+		}
+		return straggler;
+	}
+
+	private double gridRate() {
+
+		double total = 0;
+		int count = 0;
+		for (double rate : workerRates.values()) {
+			total += rate;
+			count++;
+		}
+		return count == 0 ? 0 : total / count;
+	}
+
+}
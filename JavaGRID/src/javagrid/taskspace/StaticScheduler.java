@@ -0,0 +1,49 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import javagrid.common.Task;
+import javagrid.common.WorkerNode;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * The STATIC scheduling algorithm.  Every task is the size of the job granularity, whichever Worker leases it.
+ */
+public class StaticScheduler implements SchedulerInt {
+
+	private int granularity;
+
+	/**
+	 * @param granularity the job granularity, as set at the Master
+	 */
+	public StaticScheduler(int granularity) {
+		this.granularity = Math.max(1, granularity);
+	}
+
+	public void addWorker(WorkerNode workerNode) {
+	}
+
+	public void removeWorker(String uuid) {
+	}
+
+	public void setIndexLimit(long indexLimit) {
+	}
+
+	public void taskClaimed(String uuid, int size) {
+	}
+
+	public void taskComplete(Task theTask) {
+	}
+
+	public int nextTaskSize(String uuid, long startIndex) {
+		return granularity;
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import javagrid.common.Task;
+
+/**
+ * An on-disk archive of finished tasks, so that the TaskSpace need only keep active and recently finished tasks in memory.
+ * Each task is written as a fixed size record at the position given by its sequence number, so a task is read back by
+ * sequence number with a single read.  Task ids are looked up through a compact in-memory table of their 64-bit hashes, and
+ * job and Worker ids, of which there are few, are written as references to a table of names.
+ */
+public class TaskArchive {
+
+	// written flag, sequence, task id, job and Worker references, range, status, previously failed, start and end times, duration
+	private static final int RECORD_SIZE = 1 + 4 + 16 + 4 + 4 + 16 + 1 + 1 + 16 + 8;
+
+	private Path file;
+	private boolean temporary;
+	private FileChannel channel;
+
+	private List<String> names = new ArrayList<String>();
+	private Map<String, Integer> nameRefs = new HashMap<String, Integer>();
+
+	// open addressed table of task id hashes to sequence numbers.  A hash of 0 marks an empty slot
+	private long[] idHashes = new long[1024];
+	private int[] idSequences = new int[1024];
+	private int size = 0;
+	private int lastSequence = -1;
+
+	/**
+	 * an archive in a temporary file, deleted when the archive is closed
+	 */
+	public TaskArchive() {
+		this.temporary = true;
+	}
+
+	/**
+	 * @param file the file to archive tasks to.  Any tasks already in it are discarded
+	 */
+	public TaskArchive(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * @param theTask a task
+	 * @return true if the task can be archived, which needs a task id in UUID form
+	 */
+	public static boolean archivable(Task theTask) {
+
+		try {
+			UUID.fromString(theTask.getID());
+			return true;
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * write a batch of finished tasks to the archive
+	 *
+	 * @param tasks the tasks to write, each of which must be {@link #archivable(Task)}
+	 * @throws IOException if the archive cannot be written, in which case none of the tasks can be read back from it
+	 */
+	public synchronized void write(List<Task> tasks) throws IOException {
+
+		if (tasks.isEmpty()) {
+			return;
+		}
+		open();
+
+		// neighbouring sequence numbers are written together
+		List<Task> sorted = new ArrayList<Task>(tasks);
+		sorted.sort(Comparator.comparingInt(Task::getSequence));
+
+		ByteBuffer buffer = ByteBuffer.allocate(sorted.size() * RECORD_SIZE);
+		int runStart = 0;
+		for (int i = 0; i < sorted.size(); i++) {
+			encode(sorted.get(i), buffer);
+			boolean runEnds = i == sorted.size() - 1 || sorted.get(i + 1).getSequence() != sorted.get(i).getSequence() + 1;
+			if (runEnds) {
+				buffer.flip();
+				long position = (long) sorted.get(runStart).getSequence() * RECORD_SIZE;
+				while (buffer.hasRemaining()) {
+					position = position + channel.write(buffer, position);
+				}
+				buffer.clear();
+				runStart = i + 1;
+			}
+		}
+
+		for (Task theTask : sorted) {
+			index(theTask);
+			lastSequence = Math.max(lastSequence, theTask.getSequence());
+		}
+	}
+
+	/**
+	 * @param taskSequence the sequence number of the task
+	 * @return a copy of the archived task, or null if no task with this sequence number was archived
+	 */
+	public Task read(int taskSequence) {
+
+		FileChannel current;
+		synchronized (this) {
+			if (channel == null || taskSequence < 0 || taskSequence > lastSequence) {
+				return null;
+			}
+			current = channel;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE);
+		try {
+			long position = (long) taskSequence * RECORD_SIZE;
+			while (buffer.hasRemaining()) {
+				int read = current.read(buffer, position + buffer.position());
+				if (read < 0) {
+					return null;
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+		buffer.flip();
+		return decode(buffer);
+	}
+
+	/**
+	 * @param taskId the id of the task
+	 * @return a copy of the archived task, or null if no task with this id was archived
+	 */
+	public Task read(String taskId) {
+
+		UUID id;
+		try {
+			id = UUID.fromString(taskId);
+		} catch (IllegalArgumentException | NullPointerException e) {
+			return null;
+		}
+
+		long hash = hash(id);
+		List<Integer> candidates = new ArrayList<Integer>();
+		synchronized (this) {
+			int mask = idHashes.length - 1;
+			for (int slot = slot(hash, mask); idHashes[slot] != 0; slot = (slot + 1) & mask) {
+				if (idHashes[slot] == hash) {
+					candidates.add(idSequences[slot]);
+				}
+			}
+		}
+
+		for (int taskSequence : candidates) {
+			Task theTask = read(taskSequence);
+			if (theTask != null && taskId.equals(theTask.getID())) {
+				return theTask;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * read every archived task in sequence order, for example for a report at the end of a run
+	 *
+	 * @param action called with a copy of each archived task
+	 */
+	public void forEach(Consumer<? super Task> action) {
+
+		int last;
+		synchronized (this) {
+			last = lastSequence;
+		}
+		for (int i = 0; i <= last; i++) {
+			Task theTask = read(i);
+			if (theTask != null) {
+				action.accept(theTask);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of tasks archived
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * discard every archived task
+	 */
+	public synchronized void clear() {
+
+		if (channel != null) {
+			try {
+				channel.truncate(0);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		idHashes = new long[1024];
+		idSequences = new int[1024];
+		size = 0;
+		lastSequence = -1;
+	}
+
+	/**
+	 * close the archive, deleting it if it is a temporary file
+	 */
+	public synchronized void close() {
+
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+			if (temporary) {
+				Files.deleteIfExists(file);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		channel = null;
+	}
+
+	private void open() throws IOException {
+
+		if (channel != null) {
+			return;
+		}
+		if (temporary) {
+			file = Files.createTempFile("taskspace", ".archive");
+			file.toFile().deleteOnExit();
+		}
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
+	private void encode(Task theTask, ByteBuffer buffer) {
+
+		UUID id = UUID.fromString(theTask.getID());
+		buffer.put((byte) 1);
+		buffer.putInt(theTask.getSequence());
+		buffer.putLong(id.getMostSignificantBits());
+		buffer.putLong(id.getLeastSignificantBits());
+		buffer.putInt(nameRef(theTask.getJobId()));
+		buffer.putInt(nameRef(theTask.getUuid()));
+		buffer.putLong(theTask.getStartIndex());
+		buffer.putLong(theTask.getEndIndex());
+		buffer.put((byte) theTask.getStatus());
+		buffer.put((byte) (theTask.getPreviouslyFailed() ? 1 : 0));
+		buffer.putLong(theTask.getStartTime() == null ? -1 : theTask.getStartTime().getTime());
+		buffer.putLong(theTask.getEndTime() == null ? -1 : theTask.getEndTime().getTime());
+		buffer.putDouble(theTask.getTaskDuration());
+	}
+
+	private Task decode(ByteBuffer buffer) {
+
+		// a gap in the file, where a task still in memory will later be written, reads back as zeros
+		if (buffer.get() != 1) {
+			return null;
+		}
+		int taskSequence = buffer.getInt();
+		UUID id = new UUID(buffer.getLong(), buffer.getLong());
+		String jobId = name(buffer.getInt());
+		String uuid = name(buffer.getInt());
+		long startIndex = buffer.getLong();
+		long endIndex = buffer.getLong();
+		int status = buffer.get();
+		boolean previouslyFailed = buffer.get() == 1;
+		long startTime = buffer.getLong();
+		long endTime = buffer.getLong();
+		double taskDuration = buffer.getDouble();
+
+		Task theTask = new Task(startIndex, endIndex, previouslyFailed);
+		theTask.setID(id.toString());
+		theTask.setSequence(taskSequence);
+		theTask.setJobId(jobId);
+		theTask.setUuid(uuid);
+		theTask.setStatus(status);
+		theTask.setStartTime(startTime == -1 ? null : new Date(startTime));
+		theTask.setEndTime(endTime == -1 ? null : new Date(endTime));
+		theTask.setTaskDuration(taskDuration);
+		return theTask;
+	}
+
+	private int nameRef(String name) {
+
+		Integer ref = nameRefs.get(name);
+		if (ref == null) {
+			ref = names.size();
+			names.add(name);
+			nameRefs.put(name, ref);
+		}
+		return ref;
+	}
+
+	private synchronized String name(int ref) {
+		return ref >= 0 && ref < names.size() ? names.get(ref) : null;
+	}
+
+	private void index(Task theTask) {
+
+		if ((size + 1) * 2 > idHashes.length) {
+			long[] oldHashes = idHashes;
+			int[] oldSequences = idSequences;
+			idHashes = new long[oldHashes.length * 2];
+			idSequences = new int[oldHashes.length * 2];
+			for (int i = 0; i < oldHashes.length; i++) {
+				if (oldHashes[i] != 0) {
+					put(oldHashes[i], oldSequences[i]);
+				}
+			}
+		}
+		put(hash(UUID.fromString(theTask.getID())), theTask.getSequence());
+		size++;
+	}
+
+	private void put(long hash, int taskSequence) {
+
+		int mask = idHashes.length - 1;
+		int slot = slot(hash, mask);
+		while (idHashes[slot] != 0) {
+			slot = (slot + 1) & mask;
+		}
+		idHashes[slot] = hash;
+		idSequences[slot] = taskSequence;
+	}
+
+	private static long hash(UUID id) {
+
+		long hash = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+		return hash == 0 ? 1 : hash;
+	}
+
+	private static int slot(long hash, int mask) {
+		return (int) (hash ^ (hash >>> 32)) & mask;
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javagrid.common.Task;
+import javagrid.interfaces.SchedulerInt;
+
+/**
+ * The head of the job's index space.  New tasks are not queued, instead each Worker claims the next range of items directly
+ * from the cursor with a compare-and-set, so concurrent Workers never wait on each other or on a lock.
+ */
+public class TaskCursor {
+
+	private AtomicLong nextIndex = new AtomicLong();
+	private volatile boolean open = false;
+
+	/**
+	 * start handing out tasks from an index, normally the job's continuation value
+	 *
+	 * @param startIndex the index of the first item of the first task
+	 */
+	public void open(long startIndex) {
+		nextIndex.set(startIndex);
+		open = true;
+	}
+
+	/**
+	 * stop handing out new tasks, for example once termination has been raised
+	 */
+	public void close() {
+		open = false;
+	}
+
+	/**
+	 * @return true if new tasks can be claimed
+	 */
+	public boolean isOpen() {
+		return open;
+	}
+
+	/**
+	 * @return the index of the first item of the next task to be claimed
+	 */
+	public long getNextIndex() {
+		return nextIndex.get();
+	}
+
+	/**
+	 * claim the next range of items for a Worker, sized by the job's scheduling algorithm
+	 *
+	 * @param uuid the Worker claiming the task
+	 * @param scheduler the scheduling algorithm used to size the task
+	 * @return a new task covering the claimed range, or null if the cursor is closed
+	 */
+	public Task claim(String uuid, SchedulerInt scheduler) {
+
+		while (open) {
+			long startIndex = nextIndex.get();
+			int size = scheduler.nextTaskSize(uuid, startIndex);
+
+			// another Worker may have claimed this range in the meantime, in which case size again from the new head
+			if (nextIndex.compareAndSet(startIndex, startIndex + size)) {
+				scheduler.taskClaimed(uuid, size);
+				return new Task(startIndex, startIndex + size - 1, false);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * reserve a block of items, for example for the Workers of one host to share out between themselves
+	 *
+	 * @param size the number of items to reserve
+	 * @return the index of the first item of the block, or -1 if the cursor is closed
+	 */
+	public long reserve(long size) {
+
+		while (open) {
+			long startIndex = nextIndex.get();
+			if (nextIndex.compareAndSet(startIndex, startIndex + size)) {
+				return startIndex;
+			}
+		}
+		return -1;
+	}
+
+}
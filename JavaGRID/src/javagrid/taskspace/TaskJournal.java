@@ -0,0 +1,930 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import javagrid.common.DataResult;
+import javagrid.common.JobParameters;
+
+/**
+ * An append-only journal of the TaskSpace's task state transitions, DataSpace and ResultSpace inserts, from which the state
+ * of every job is rebuilt when the TaskSpace restarts.  Callers only encode a record and queue it, so the hot path never
+ * waits on the disk.  One writer thread appends the records queued within a short window in a single write and forces them
+ * to disk together, then applies them to its own copy of the state.  Every so often that copy is written out as a snapshot and the log is
+ * truncated, so replay on restart is bounded by the snapshot interval rather than by the length of the job.  Records are
+ * numbered and checksummed, so a record torn by a crash ends replay and a log already folded into a snapshot is skipped.
+ */
+public class TaskJournal {
+
+	// record types
+	private static final byte JOB = 1;
+	private static final byte INPUT = 2;
+	private static final byte OPEN = 3;
+	private static final byte RESERVE = 4;
+	private static final byte TAKE = 5;
+	private static final byte DONE = 6;
+	private static final byte RETRY = 7;
+	private static final byte TERMINATE = 8;
+	private static final byte RESET = 9;
+	private static final byte RESULT = 10;
+	private static final byte TAKE_RESULT = 11;
+	private static final byte DATA = 12;
+	private static final byte CLEAR_DATA = 13;
+
+	// how a taken task came about
+	public static final byte NEW_RANGE = 0;
+	public static final byte RETRIED = 1;
+	public static final byte BACKUP = 2;
+
+	private static final int SNAPSHOT_MAGIC = 0x6A67736E;
+
+	// longest a record waits to be grouped with others before being written, in milliseconds
+	private static final long COMMIT_WINDOW = 5;
+
+	// smallest log written before a snapshot is taken, in bytes.  Beyond it, a snapshot is taken once the log is as large as
+	// the last snapshot, so the cost of snapshots stays in proportion to the records written
+	private static final long SNAPSHOT_MIN_BYTES = 16 * 1024 * 1024;
+
+	// tags of the values of results, written without Java serialisation where the type is common
+	private static final byte NULL_VALUE = 0;
+	private static final byte STRING_VALUE = 1;
+	private static final byte DECIMAL_VALUE = 2;
+	private static final byte INTEGER_VALUE = 3;
+	private static final byte LONG_VALUE = 4;
+	private static final byte INT_VALUE = 5;
+	private static final byte DOUBLE_VALUE = 6;
+	private static final byte BOOLEAN_VALUE = 7;
+	private static final byte SERIALISED_VALUE = 8;
+
+	private boolean enabled;
+	private Path logFile;
+	private Path snapshotFile;
+	private FileChannel log;
+
+	private LinkedBlockingQueue<byte[]> pending = new LinkedBlockingQueue<byte[]>();
+	private Thread writer;
+	private volatile boolean running = false;
+	private AtomicLong queued = new AtomicLong();
+	private long written = 0;
+
+	// owned by the writer thread once started
+	private long lsn = 0;
+	private long logBytes = 0;
+	private long snapshotBytes = 0;
+	private Map<String, JobState> state = new HashMap<String, JobState>();
+
+	/**
+	 * a journal which records nothing, for a TaskSpace run without one
+	 */
+	public TaskJournal() {
+		this.enabled = false;
+	}
+
+	/**
+	 * @param directory the directory holding the log and snapshot files, created if not present
+	 */
+	public TaskJournal(Path directory) {
+		this.enabled = true;
+		this.logFile = directory.resolve("taskspace.journal");
+		this.snapshotFile = directory.resolve("taskspace.snapshot");
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return true if records are written to disk, false otherwise
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * read the snapshot and replay the log left by the previous run, then start journaling.  Tasks that were in flight, and
+	 * ranges reserved for hosts but not yet handed out, are turned into retry ranges, since the Workers that held them may not
+	 * come back.  The recovered state is written out as a new snapshot before any new record is appended
+	 *
+	 * @return the recovered state of each job, by job key
+	 */
+	public Map<String, JobState> recover() {
+
+		if (!enabled) {
+			return new HashMap<String, JobState>();
+		}
+
+		Map<String, JobState> recovered = new HashMap<String, JobState>();
+		try {
+			readSnapshot();
+			replayLog();
+
+			for (JobState job : state.values()) {
+				job.requeueInFlight();
+			}
+
+			log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			writeSnapshot();
+
+			// the writer goes on to apply new records to its own state, so the caller is given a copy
+			for (Map.Entry<String, JobState> entry : state.entrySet()) {
+				recovered.put(entry.getKey(), entry.getValue().copy());
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			enabled = false;
+			return new HashMap<String, JobState>();
+		}
+
+		running = true;
+		writer = new Thread(this::write, "TaskJournal");
+		writer.setDaemon(true);
+		writer.start();
+
+		return recovered;
+	}
+
+	/**
+	 * write any queued records and a final snapshot, then stop journaling
+	 */
+	public void close() {
+
+		if (!running) {
+			return;
+		}
+		running = false;
+		try {
+			writer.interrupt();
+			writer.join();
+			writeSnapshot();
+			log.close();
+		} catch (InterruptedException | IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * wait until every record queued so far is on disk
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public synchronized void sync() throws InterruptedException {
+
+		long target = queued.get();
+		while (running && written < target) {
+			wait();
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param jobParameters the parameters of the job
+	 */
+	public void job(String key, JobParameters jobParameters) {
+		if (enabled) {
+			append(JOB, key, out -> writeBytes(out, serialise(jobParameters)));
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param inputFileSize the number of items in the job's input file
+	 */
+	public void input(String key, long inputFileSize) {
+		if (enabled) {
+			append(INPUT, key, out -> out.writeLong(inputFileSize));
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param startIndex the index the job's cursor was opened at
+	 */
+	public void open(String key, long startIndex) {
+		if (enabled) {
+			append(OPEN, key, out -> out.writeLong(startIndex));
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param startIndex the first index of a block reserved for a host
+	 * @param endIndex the index after the last of the block
+	 */
+	public void reserve(String key, long startIndex, long endIndex) {
+		if (enabled) {
+			append(RESERVE, key, out -> {
+				out.writeLong(startIndex);
+				out.writeLong(endIndex);
+			});
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param taskId the id of the task taken
+	 * @param startIndex the first index of the task
+	 * @param endIndex the last index of the task
+	 * @param kind NEW_RANGE, RETRIED or BACKUP
+	 */
+	public void take(String key, String taskId, long startIndex, long endIndex, byte kind) {
+		if (enabled) {
+			append(TAKE, key, out -> {
+				out.writeUTF(taskId);
+				out.writeLong(startIndex);
+				out.writeLong(endIndex);
+				out.writeByte(kind);
+			});
+		}
+	}
+
+	/**
+	 * a task is no longer in flight, as it returned, failed, timed out or was cancelled
+	 *
+	 * @param key the job
+	 * @param taskId the id of the task
+	 */
+	public void done(String key, String taskId) {
+		if (enabled) {
+			append(DONE, key, out -> out.writeUTF(taskId));
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param startIndex the first index of a returned task waiting to be retried
+	 * @param endIndex the last index of the task
+	 */
+	public void retry(String key, long startIndex, long endIndex) {
+		if (enabled) {
+			append(RETRY, key, out -> {
+				out.writeLong(startIndex);
+				out.writeLong(endIndex);
+			});
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param uuid the Worker which raised termination
+	 * @param terminateNow whether the job should complete immediately
+	 */
+	public void terminate(String key, String uuid, boolean terminateNow) {
+		if (enabled) {
+			append(TERMINATE, key, out -> {
+				out.writeUTF(uuid == null ? "" : uuid);
+				out.writeBoolean(terminateNow);
+			});
+		}
+	}
+
+	/**
+	 * @param key the job, whose tasks and results are cleared
+	 */
+	public void reset(String key) {
+		if (enabled) {
+			append(RESET, key, out -> {
+			});
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param keyIndex the index of the result
+	 * @param dataResult the result
+	 */
+	public void result(String key, long keyIndex, DataResult dataResult) {
+		if (enabled) {
+			append(RESULT, key, out -> {
+				out.writeLong(keyIndex);
+				writeBytes(out, encode(dataResult));
+			});
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param keyIndex the index of the result taken from the ResultSpace
+	 */
+	public void takeResult(String key, long keyIndex) {
+		if (enabled) {
+			append(TAKE_RESULT, key, out -> out.writeLong(keyIndex));
+		}
+	}
+
+	/**
+	 * @param key the job
+	 * @param dataResult an input added to the end of the job's DataSpace
+	 */
+	public void data(String key, DataResult dataResult) {
+		if (enabled) {
+			append(DATA, key, out -> writeBytes(out, encode(dataResult)));
+		}
+	}
+
+	/**
+	 * @param key the job, whose DataSpace is cleared
+	 */
+	public void clearData(String key) {
+		if (enabled) {
+			append(CLEAR_DATA, key, out -> {
+			});
+		}
+	}
+
+	/**
+	 * @param bytes job parameters as serialised by the journal
+	 * @return the job parameters, or null if they could not be read back
+	 */
+	public static JobParameters readParameters(byte[] bytes) {
+
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+			return (JobParameters) in.readObject();
+		} catch (IOException | ClassNotFoundException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * @param bytes a result as encoded by the journal
+	 * @return the result, or null if it could not be read back
+	 */
+	public static DataResult decode(byte[] bytes) {
+
+		try {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+			DataResult dataResult = new DataResult(in.readLong(), null, null);
+			dataResult.setUiIndex(in.readInt());
+			dataResult.setVisualValue((String) readValue(in));
+			dataResult.setTheObject(readValue(in));
+			return dataResult;
+		} catch (IOException | ClassNotFoundException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	private static byte[] encode(DataResult dataResult) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(dataResult.getKeyIndex());
+		out.writeInt(dataResult.getUiIndex());
+		writeValue(out, dataResult.getVisualValue());
+		writeValue(out, dataResult.getTheObject());
+		return bytes.toByteArray();
+	}
+
+	private static void writeValue(DataOutputStream out, Object value) throws IOException {
+
+		if (value == null) {
+			out.writeByte(NULL_VALUE);
+		} else if (value instanceof String) {
+			out.writeByte(STRING_VALUE);
+			writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+		} else if (value instanceof BigDecimal) {
+			out.writeByte(DECIMAL_VALUE);
+			out.writeInt(((BigDecimal) value).scale());
+			writeBytes(out, ((BigDecimal) value).unscaledValue().toByteArray());
+		} else if (value instanceof BigInteger) {
+			out.writeByte(INTEGER_VALUE);
+			writeBytes(out, ((BigInteger) value).toByteArray());
+		} else if (value instanceof Long) {
+			out.writeByte(LONG_VALUE);
+			out.writeLong((Long) value);
+		} else if (value instanceof Integer) {
+			out.writeByte(INT_VALUE);
+			out.writeInt((Integer) value);
+		} else if (value instanceof Double) {
+			out.writeByte(DOUBLE_VALUE);
+			out.writeDouble((Double) value);
+		} else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN_VALUE);
+			out.writeBoolean((Boolean) value);
+		} else {
+			out.writeByte(SERIALISED_VALUE);
+			writeBytes(out, serialise(value));
+		}
+	}
+
+	private static Object readValue(DataInputStream in) throws IOException, ClassNotFoundException {
+
+		byte tag = in.readByte();
+		if (tag == STRING_VALUE) {
+			return new String(readBytes(in), StandardCharsets.UTF_8);
+		} else if (tag == DECIMAL_VALUE) {
+			int scale = in.readInt();
+			return new BigDecimal(new BigInteger(readBytes(in)), scale);
+		} else if (tag == INTEGER_VALUE) {
+			return new BigInteger(readBytes(in));
+		} else if (tag == LONG_VALUE) {
+			return in.readLong();
+		} else if (tag == INT_VALUE) {
+			return in.readInt();
+		} else if (tag == DOUBLE_VALUE) {
+			return in.readDouble();
+		} else if (tag == BOOLEAN_VALUE) {
+			return in.readBoolean();
+		} else if (tag == SERIALISED_VALUE) {
+			try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+				return objects.readObject();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * the fields of a record, after its type and job
+	 */
+	private interface Payload {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	private void append(byte type, String key, Payload payload) {
+
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+			DataOutputStream out = new DataOutputStream(bytes);
+			out.writeByte(type);
+			out.writeUTF(key);
+			payload.write(out);
+			queued.incrementAndGet();
+			pending.offer(bytes.toByteArray());
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private static byte[] serialise(Object object) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(object);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	/**
+	 * the writer thread.  Waits for a record, gathers whatever else arrives within the commit window, and writes the batch
+	 */
+	private void write() {
+
+		List<byte[]> batch = new ArrayList<byte[]>();
+		while (running || !pending.isEmpty()) {
+			try {
+				byte[] first = pending.poll(1, TimeUnit.SECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				Thread.sleep(COMMIT_WINDOW);
+			} catch (InterruptedException e) {
+				// closing, so write whatever is left
+			}
+			pending.drainTo(batch);
+			if (!batch.isEmpty()) {
+				commit(batch);
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * append a batch of records to the log as one write, force it to disk, then apply it to the state
+	 */
+	private void commit(List<byte[]> batch) {
+
+		try {
+			int size = 0;
+			for (byte[] record : batch) {
+				size = size + 16 + record.length;
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocate(size);
+			CRC32 crc = new CRC32();
+			for (byte[] record : batch) {
+				lsn++;
+				crc.reset();
+				crc.update(record);
+				buffer.putInt(record.length);
+				buffer.putInt((int) crc.getValue());
+				buffer.putLong(lsn);
+				buffer.put(record);
+			}
+			buffer.flip();
+
+			log.position(log.size());
+			while (buffer.hasRemaining()) {
+				log.write(buffer);
+			}
+			log.force(false);
+			logBytes = logBytes + size;
+
+			for (byte[] record : batch) {
+				apply(record);
+			}
+
+			if (logBytes >= Math.max(SNAPSHOT_MIN_BYTES, snapshotBytes)) {
+				writeSnapshot();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		synchronized (this) {
+			written = written + batch.size();
+			notifyAll();
+		}
+	}
+
+	private JobState jobState(String key) {
+		return state.computeIfAbsent(key, k -> new JobState());
+	}
+
+	/**
+	 * apply one record to the state, as written and when replayed
+	 */
+	private void apply(byte[] record) throws IOException {
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+		byte type = in.readByte();
+		JobState job = jobState(in.readUTF());
+
+		if (type == JOB) {
+			job.parameters = readBytes(in);
+
+		} else if (type == INPUT) {
+			job.inputFileSize = in.readLong();
+
+		} else if (type == OPEN) {
+			job.open = true;
+			job.nextIndex = in.readLong();
+			job.reserved.clear();
+
+		} else if (type == RESERVE) {
+			long startIndex = in.readLong();
+			long endIndex = in.readLong();
+			job.reserved.put(startIndex, endIndex);
+			job.nextIndex = Math.max(job.nextIndex, endIndex);
+
+		} else if (type == TAKE) {
+			String taskId = in.readUTF();
+			long startIndex = in.readLong();
+			long endIndex = in.readLong();
+			byte kind = in.readByte();
+			job.inFlight.put(taskId, new long[] { startIndex, endIndex });
+			if (kind == NEW_RANGE) {
+				job.nextIndex = Math.max(job.nextIndex, endIndex + 1);
+				job.claimReserved(startIndex, endIndex + 1);
+			} else if (kind == RETRIED) {
+				job.removeRetry(startIndex, endIndex);
+			}
+
+		} else if (type == DONE) {
+			job.inFlight.remove(in.readUTF());
+
+		} else if (type == RETRY) {
+			long startIndex = in.readLong();
+			long endIndex = in.readLong();
+			job.retries.add(new long[] { startIndex, endIndex });
+			job.claimReserved(startIndex, endIndex + 1);
+
+		} else if (type == TERMINATE) {
+			job.terminatedCallingWorker = in.readUTF();
+			job.terminateImmediate = in.readBoolean();
+			job.terminationRaised = true;
+			job.open = false;
+
+		} else if (type == RESET) {
+			job.open = false;
+			job.reserved.clear();
+			job.retries.clear();
+			job.inFlight.clear();
+			job.results.clear();
+			job.terminationRaised = false;
+			job.terminateImmediate = false;
+			job.terminatedCallingWorker = "";
+
+		} else if (type == RESULT) {
+			long keyIndex = in.readLong();
+			job.results.put(keyIndex, readBytes(in));
+
+		} else if (type == TAKE_RESULT) {
+			job.results.remove(in.readLong());
+
+		} else if (type == DATA) {
+			job.dataSpace.add(readBytes(in));
+
+		} else if (type == CLEAR_DATA) {
+			job.dataSpace.clear();
+		}
+	}
+
+	/**
+	 * replay the records of the log written after the snapshot, stopping at the first record torn by a crash
+	 */
+	private void replayLog() throws IOException {
+
+		if (!Files.exists(logFile)) {
+			return;
+		}
+
+		long snapshotLsn = lsn;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+			CRC32 crc = new CRC32();
+			while (true) {
+				int length = in.readInt();
+				int checksum = in.readInt();
+				long recordLsn = in.readLong();
+				byte[] record = new byte[length];
+				in.readFully(record);
+
+				crc.reset();
+				crc.update(record);
+				if ((int) crc.getValue() != checksum) {
+					break;
+				}
+
+				// already part of the snapshot
+				if (recordLsn <= snapshotLsn) {
+					continue;
+				}
+				apply(record);
+				lsn = recordLsn;
+			}
+		} catch (EOFException e) {
+			// end of the log, or a record cut short by a crash
+		}
+	}
+
+	private void readSnapshot() throws IOException {
+
+		if (!Files.exists(snapshotFile)) {
+			return;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC) {
+				return;
+			}
+			lsn = in.readLong();
+			int jobs = in.readInt();
+			for (int i = 0; i < jobs; i++) {
+				JobState job = jobState(in.readUTF());
+				job.read(in);
+			}
+		}
+	}
+
+	/**
+	 * write the state to a new snapshot, replace the old one, and truncate the log now folded into it
+	 */
+	private void writeSnapshot() throws IOException {
+
+		Path temp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeLong(lsn);
+			out.writeInt(state.size());
+			for (Map.Entry<String, JobState> entry : state.entrySet()) {
+				out.writeUTF(entry.getKey());
+				entry.getValue().write(out);
+			}
+			out.flush();
+			channel.force(true);
+			snapshotBytes = channel.size();
+		}
+		Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		log.truncate(0);
+		log.force(true);
+		logBytes = 0;
+	}
+
+	/**
+	 * the journaled state of one job
+	 */
+	public static class JobState {
+
+		byte[] parameters;
+		long inputFileSize = 0;
+		boolean open = false;
+		long nextIndex = 0;
+		boolean terminationRaised = false;
+		boolean terminateImmediate = false;
+		String terminatedCallingWorker = "";
+
+		// blocks reserved for hosts and not yet handed out, by first index, to the index after the last
+		TreeMap<Long, Long> reserved = new TreeMap<Long, Long>();
+		ArrayDeque<long[]> retries = new ArrayDeque<long[]>();
+		Map<String, long[]> inFlight = new LinkedHashMap<String, long[]>();
+		TreeMap<Long, byte[]> results = new TreeMap<Long, byte[]>();
+
+		// the DataSpace is kept through a reset, as its inputs are added by the Master before the job starts
+		ArrayList<byte[]> dataSpace = new ArrayList<byte[]>();
+
+		/**
+		 * @return the ranges waiting to be retried, each the first and last index of a task
+		 */
+		public List<long[]> getRetries() {
+			return new ArrayList<long[]>(retries);
+		}
+
+		/**
+		 * @return the number of results in the job's ResultSpace
+		 */
+		public int getResultCount() {
+			return results.size();
+		}
+
+		/**
+		 * remove a range handed out to a Worker from the block reserved for its host
+		 */
+		void claimReserved(long startIndex, long endIndex) {
+
+			Map.Entry<Long, Long> block = reserved.floorEntry(startIndex);
+			if (block == null || block.getValue() <= startIndex) {
+				return;
+			}
+			reserved.remove(block.getKey());
+			if (block.getKey() < startIndex) {
+				reserved.put(block.getKey(), startIndex);
+			}
+			if (endIndex < block.getValue()) {
+				reserved.put(endIndex, block.getValue());
+			}
+		}
+
+		void removeRetry(long startIndex, long endIndex) {
+
+			for (Iterator<long[]> it = retries.iterator(); it.hasNext();) {
+				long[] range = it.next();
+				if (range[0] == startIndex && range[1] == endIndex) {
+					it.remove();
+					return;
+				}
+			}
+		}
+
+		/**
+		 * turn the tasks in flight and the reserved blocks into ranges to be retried, each range once
+		 */
+		void requeueInFlight() {
+
+			Set<String> queued = new LinkedHashSet<String>();
+			ArrayDeque<long[]> ranges = new ArrayDeque<long[]>();
+			List<long[]> candidates = new ArrayList<long[]>(retries);
+			candidates.addAll(inFlight.values());
+			for (Map.Entry<Long, Long> block : reserved.entrySet()) {
+				candidates.add(new long[] { block.getKey(), block.getValue() - 1 });
+			}
+
+			for (long[] range : candidates) {
+				if (queued.add(range[0] + ":" + range[1])) {
+					ranges.add(range);
+				}
+			}
+
+			retries = ranges;
+			inFlight.clear();
+			reserved.clear();
+		}
+
+		JobState copy() throws IOException {
+
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			write(new DataOutputStream(bytes));
+			JobState theCopy = new JobState();
+			theCopy.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+			return theCopy;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+
+			out.writeBoolean(parameters != null);
+			if (parameters != null) {
+				writeBytes(out, parameters);
+			}
+			out.writeLong(inputFileSize);
+			out.writeBoolean(open);
+			out.writeLong(nextIndex);
+			out.writeBoolean(terminationRaised);
+			out.writeBoolean(terminateImmediate);
+			out.writeUTF(terminatedCallingWorker == null ? "" : terminatedCallingWorker);
+
+			out.writeInt(reserved.size());
+			for (Map.Entry<Long, Long> block : reserved.entrySet()) {
+				out.writeLong(block.getKey());
+				out.writeLong(block.getValue());
+			}
+			out.writeInt(retries.size());
+			for (long[] range : retries) {
+				out.writeLong(range[0]);
+				out.writeLong(range[1]);
+			}
+			out.writeInt(inFlight.size());
+			for (Map.Entry<String, long[]> task : inFlight.entrySet()) {
+				out.writeUTF(task.getKey());
+				out.writeLong(task.getValue()[0]);
+				out.writeLong(task.getValue()[1]);
+			}
+			out.writeInt(results.size());
+			for (Map.Entry<Long, byte[]> result : results.entrySet()) {
+				out.writeLong(result.getKey());
+				writeBytes(out, result.getValue());
+			}
+			out.writeInt(dataSpace.size());
+			for (byte[] item : dataSpace) {
+				writeBytes(out, item);
+			}
+		}
+
+		void read(DataInputStream in) throws IOException {
+
+			parameters = in.readBoolean() ? readBytes(in) : null;
+			inputFileSize = in.readLong();
+			open = in.readBoolean();
+			nextIndex = in.readLong();
+			terminationRaised = in.readBoolean();
+			terminateImmediate = in.readBoolean();
+			terminatedCallingWorker = in.readUTF();
+
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				reserved.put(in.readLong(), in.readLong());
+			}
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				retries.add(new long[] { in.readLong(), in.readLong() });
+			}
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				inFlight.put(in.readUTF(), new long[] { in.readLong(), in.readLong() });
+			}
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				results.put(in.readLong(), readBytes(in));
+			}
+			count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				dataSpace.add(readBytes(in));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,425 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javagrid.common.Task;
+
+/**
+ * The acquired task space.  Every task taken by a Worker is registered here and given a stable sequence number, which is
+ * also its row in the acquired queue of the UI.  Tasks are indexed by task id, by sequence number, and by the Worker holding
+ * them and the job they belong to while active, so lookups and status transitions do not depend on the number of tasks issued.
+ * The number of active tasks of each job is counted as tasks move between statuses, so it is read without walking the
+ * tasks.
+ * <p>
+ * Only active and recently finished tasks are kept in memory.  Once more tasks have finished than are kept, the oldest are
+ * moved in batches to a {@link TaskArchive} on disk, from which lookups by id or sequence number return a copy.  Archived
+ * tasks can no longer change status.
+ */
+public class TaskRegistry {
+
+	private ConcurrentMap<String, Task> tasksById = new ConcurrentHashMap<>();
+	private ConcurrentMap<Integer, Task> tasksBySequence = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, Set<String>> activeTasksByWorker = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, Set<String>> activeTasksByJob = new ConcurrentHashMap<>();
+	private AtomicInteger sequence = new AtomicInteger();
+
+	// finished tasks kept in memory, oldest first, and the archive the oldest are moved to in batches
+	private static final int RECENT_TASKS = 10000;
+	private static final int ARCHIVE_BATCH = 1000;
+	private TaskArchive archive;
+	private int recentTasks;
+	private ConcurrentLinkedQueue<Task> finished = new ConcurrentLinkedQueue<Task>();
+	private AtomicInteger finishedCount = new AtomicInteger();
+	private AtomicBoolean archiving = new AtomicBoolean();
+
+	// active tasks of each job
+	private ConcurrentMap<String, AtomicInteger> activeCounts = new ConcurrentHashMap<>();
+
+	/**
+	 * a registry which keeps the most recent {@value #RECENT_TASKS} finished tasks in memory and archives the rest to a
+	 * temporary file
+	 */
+	public TaskRegistry() {
+		this(new TaskArchive(), RECENT_TASKS);
+	}
+
+	/**
+	 * @param archive the archive finished tasks are moved to, or null to keep every task in memory
+	 * @param recentTasks the number of finished tasks kept in memory before the oldest are archived
+	 */
+	public TaskRegistry(TaskArchive archive, int recentTasks) {
+		this.archive = archive;
+		this.recentTasks = recentTasks;
+	}
+
+	/**
+	 * register a newly acquired task, assigning it the next sequence number
+	 *
+	 * @param theTask the task taken by a Worker.  Its id, job id and Worker id must already be set
+	 * @return the sequence number given to the task
+	 */
+	public int register(Task theTask) {
+
+		int theSequence = sequence.getAndIncrement();
+		theTask.setSequence(theSequence);
+
+		tasksById.put(theTask.getID(), theTask);
+		tasksBySequence.put(theSequence, theTask);
+		count(theTask, theTask.getStatus(), 1);
+		if (theTask.getStatus() == 0) {
+			workerTasks(theTask.getUuid()).add(theTask.getID());
+			jobTasks(theTask.getJobId()).add(theTask.getID());
+		}
+		return theSequence;
+	}
+
+	/**
+	 * @param taskId the task id to look up
+	 * @return the task, or null if no task with this id was registered
+	 */
+	public Task get(String taskId) {
+
+		Task theTask = tasksById.get(taskId);
+		if (theTask == null && archive != null) {
+			theTask = archive.read(taskId);
+		}
+		return theTask;
+	}
+
+	/**
+	 * @param taskSequence the sequence number to look up
+	 * @return the task, or null if no task with this sequence number was registered
+	 */
+	public Task get(int taskSequence) {
+
+		Task theTask = tasksBySequence.get(taskSequence);
+		if (theTask == null && archive != null) {
+			theTask = archive.read(taskSequence);
+		}
+		return theTask;
+	}
+
+	/**
+	 * @param taskId the task id to look up
+	 * @return the sequence number of the task, or -1 if no task with this id was registered
+	 */
+	public int getSequence(String taskId) {
+
+		Task theTask = get(taskId);
+		if (theTask == null) {
+			return -1;
+		}
+		return theTask.getSequence();
+	}
+
+	/**
+	 * replace the registered copy of a task with the one returned by a Worker, keeping its sequence number and status.
+	 * Status changes are only made through {@link #transition(String, int, int)} and {@link #setStatus(String, int)}
+	 *
+	 * @param theTask the task returned by the Worker
+	 * @return the sequence number of the task, or -1 if the task was never registered or has been archived
+	 */
+	public int replace(Task theTask) {
+
+		while (true) {
+			Task current = tasksById.get(theTask.getID());
+			if (current == null) {
+				return -1;
+			}
+
+			// under the same lock as a transition, so the status copied is the one counted
+			synchronized (current) {
+				if (tasksById.get(theTask.getID()) != current) {
+					continue;
+				}
+				theTask.setSequence(current.getSequence());
+				theTask.setStatus(current.getStatus());
+				tasksById.put(theTask.getID(), theTask);
+				tasksBySequence.put(current.getSequence(), theTask);
+
+				// the copy queued for the archive when the task finished is no longer registered, so queue this one
+				if (archive != null && current.getStatus() > 0) {
+					finished.offer(theTask);
+					finishedCount.incrementAndGet();
+				}
+				return current.getSequence();
+			}
+		}
+	}
+
+	/**
+	 * move a task to a new status, but only if it is currently in the expected status
+	 *
+	 * @param taskId the task to update
+	 * @param expectedStatus the status the task must currently have.  See {@link javagrid.common.Task}
+	 * @param newStatus the status to move the task to
+	 * @return true if the transition was made, false if the task is unknown or in another status
+	 */
+	public boolean transition(String taskId, int expectedStatus, int newStatus) {
+
+		while (true) {
+			Task theTask = tasksById.get(taskId);
+			if (theTask == null) {
+				return false;
+			}
+
+			synchronized (theTask) {
+				// the task was replaced while waiting for its lock, so try again with the registered copy
+				if (tasksById.get(taskId) != theTask) {
+					continue;
+				}
+				if (theTask.getStatus() != expectedStatus) {
+					return false;
+				}
+				setStatus(theTask, newStatus);
+			}
+			archiveFinished();
+			return true;
+		}
+	}
+
+	/**
+	 * set the status of a task unconditionally
+	 *
+	 * @param taskId the task to update
+	 * @param newStatus the status to move the task to
+	 */
+	public void setStatus(String taskId, int newStatus) {
+
+		while (true) {
+			Task theTask = tasksById.get(taskId);
+			if (theTask == null) {
+				return;
+			}
+
+			synchronized (theTask) {
+				if (tasksById.get(taskId) != theTask) {
+					continue;
+				}
+				setStatus(theTask, newStatus);
+			}
+			archiveFinished();
+			return;
+		}
+	}
+
+	private void setStatus(Task theTask, int newStatus) {
+
+		count(theTask, theTask.getStatus(), -1);
+		count(theTask, newStatus, 1);
+		theTask.setStatus(newStatus);
+		if (newStatus == 0) {
+			workerTasks(theTask.getUuid()).add(theTask.getID());
+			jobTasks(theTask.getJobId()).add(theTask.getID());
+		} else {
+			Set<String> active = activeTasksByWorker.get(theTask.getUuid());
+			if (active != null) {
+				active.remove(theTask.getID());
+			}
+			active = activeTasksByJob.get(theTask.getJobId());
+			if (active != null) {
+				active.remove(theTask.getID());
+			}
+			if (archive != null && newStatus != -1) {
+				finished.offer(theTask);
+				finishedCount.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * @param uuid the id of the Worker
+	 * @return the tasks currently active on the Worker
+	 */
+	public List<Task> activeTasks(String uuid) {
+
+		List<Task> tasks = new ArrayList<Task>();
+		Set<String> active = activeTasksByWorker.get(uuid);
+		if (active != null) {
+			for (String taskId : active) {
+				Task theTask = tasksById.get(taskId);
+				if (theTask != null) {
+					tasks.add(theTask);
+				}
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * @param jobId the id of the job
+	 * @return the tasks of the job which are currently active
+	 */
+	public List<Task> activeJobTasks(String jobId) {
+
+		List<Task> tasks = new ArrayList<Task>();
+		Set<String> active = activeTasksByJob.get(jobId);
+		if (active != null) {
+			for (String taskId : active) {
+				Task theTask = tasksById.get(taskId);
+				if (theTask != null) {
+					tasks.add(theTask);
+				}
+			}
+		}
+		return tasks;
+	}
+
+	/**
+	 * @param jobId the id of the job
+	 * @return the number of tasks of the job which are currently active
+	 */
+	public int activeCount(String jobId) {
+
+		AtomicInteger count = activeCounts.get(jobId);
+		return count == null ? 0 : count.get();
+	}
+
+	/**
+	 * @return every registered task still held in memory, in no particular order
+	 */
+	public Collection<Task> tasks() {
+		return tasksById.values();
+	}
+
+	/**
+	 * visit every registered task, archived tasks first in sequence order and then those held in memory, for example for a
+	 * report at the end of a run
+	 *
+	 * @param action called with each task.  Archived tasks are passed as copies
+	 */
+	public void forEach(Consumer<? super Task> action) {
+
+		if (archive != null) {
+			archive.forEach(action);
+		}
+		tasksById.values().forEach(action);
+	}
+
+	/**
+	 * @return the number of tasks registered, including those archived
+	 */
+	public int size() {
+		return tasksById.size() + (archive == null ? 0 : archive.size());
+	}
+
+	/**
+	 * close the archive, deleting it if it is a temporary file
+	 */
+	public void close() {
+
+		if (archive != null) {
+			archive.close();
+		}
+	}
+
+	/**
+	 * remove all tasks and restart the sequence from 0
+	 */
+	public void clear() {
+		tasksById.clear();
+		tasksBySequence.clear();
+		activeTasksByWorker.clear();
+		activeTasksByJob.clear();
+		activeCounts.clear();
+		finished.clear();
+		finishedCount.set(0);
+		if (archive != null) {
+			archive.clear();
+		}
+		sequence.set(0);
+	}
+
+	/**
+	 * move the oldest finished tasks to the archive, a batch at a time, while more are held in memory than are kept.  Only
+	 * one thread archives at a time, and the others carry on
+	 */
+	private void archiveFinished() {
+
+		while (archive != null && finishedCount.get() > recentTasks + ARCHIVE_BATCH && archiving.compareAndSet(false, true)) {
+			try {
+				List<Task> batch = new ArrayList<Task>();
+				Set<String> batched = new HashSet<String>();
+				while (batch.size() < ARCHIVE_BATCH) {
+					Task theTask = finished.poll();
+					if (theTask == null) {
+						break;
+					}
+					finishedCount.decrementAndGet();
+
+					// a task which failed may still be returned and so is queued again, and an archived task only once
+					if (theTask.getStatus() > 0 && tasksById.get(theTask.getID()) == theTask && TaskArchive.archivable(theTask)
+							&& batched.add(theTask.getID())) {
+						batch.add(theTask);
+					}
+				}
+				archive(batch);
+			} finally {
+				archiving.set(false);
+			}
+		}
+	}
+
+	private void archive(List<Task> batch) {
+
+		int[] written = new int[batch.size()];
+		for (int i = 0; i < batch.size(); i++) {
+			written[i] = batch.get(i).getStatus();
+		}
+
+		// the tasks are written before they leave memory, so a lookup always finds them in one place or the other
+		try {
+			archive.write(batch);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+
+		// a task whose status changed while it was written has been queued again, and stays in memory until then
+		for (int i = 0; i < batch.size(); i++) {
+			Task theTask = batch.get(i);
+			synchronized (theTask) {
+				if (theTask.getStatus() == written[i]) {
+					tasksById.remove(theTask.getID(), theTask);
+					tasksBySequence.remove(theTask.getSequence(), theTask);
+				}
+			}
+		}
+	}
+
+	private void count(Task theTask, int status, int delta) {
+
+		if (status == 0) {
+			activeCounts.computeIfAbsent(theTask.getJobId(), k -> new AtomicInteger()).addAndGet(delta);
+		}
+	}
+
+	private Set<String> workerTasks(String uuid) {
+		return activeTasksByWorker.computeIfAbsent(uuid, k -> ConcurrentHashMap.newKeySet());
+	}
+
+	private Set<String> jobTasks(String jobId) {
+		return activeTasksByJob.computeIfAbsent(jobId, k -> ConcurrentHashMap.newKeySet());
+	}
+
+}
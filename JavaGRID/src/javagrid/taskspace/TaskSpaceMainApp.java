@@ -17,7 +17,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.net.URI;
-import java.net.UnknownHostException;
 import java.nio.file.Paths;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
@@ -26,17 +25,17 @@ import java.rmi.registry.Registry;
 import java.rmi.server.ServerNotActiveException;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableSet;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -61,16 +60,19 @@ import javagrid.common.TaskUI;
 import javagrid.common.WorkerNode;
 import javagrid.config.TaskSpaceXML;
 import javagrid.controller.TaskSpaceMainController;
+import javagrid.enumeration.Algorithm;
 import javagrid.enumeration.DataSource;
 import javagrid.enumeration.Notification;
-import javagrid.enumeration.ResultDestination;
 import javagrid.interfaces.AmalgamateInt;
 import javagrid.interfaces.MasterInt;
+import javagrid.interfaces.SchedulerInt;
 import javagrid.interfaces.TaskSpaceInt;
 import javagrid.interfaces.WorkerInt;
 import javagrid.utils.DiskIO;
+import javagrid.utils.StubCache;
 import javagrid.utils.DiskManagement;
 import javagrid.utils.Networking;
+import javagrid.utils.javaGridFile;
 import com.healthmarketscience.rmiio.GZIPRemoteInputStream;
 import com.healthmarketscience.rmiio.RemoteInputStream;
 import com.healthmarketscience.rmiio.RemoteInputStreamClient;
@@ -91,16 +93,24 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	private static TaskSpaceMainApp instance;
 	private static TaskSpaceMainController taskSpaceMainController;
 
-	// Task queue + acquired space
-	public ConcurrentLinkedQueue<Task> availableTasks = new ConcurrentLinkedQueue<Task>();
-	public ConcurrentMap<Integer, Task> acquiredTasks = new ConcurrentHashMap<>();
+	// acquired space, shared by all jobs so that every task keeps its row in the UI
+	public TaskRegistry acquiredTasks = new TaskRegistry();
 
-	// DataSpace + ResultSpace
-	public ArrayList<DataResult> dataSpace = new ArrayList<DataResult>();
-	public static ConcurrentSkipListMap<Integer, DataResult> resultSpace = new ConcurrentSkipListMap<Integer, DataResult>();
-	private Map<Integer, String> unsortedResultsTreeMap = new TreeMap<Integer, String>();
-	public static Map<Integer, String> sortedResultsTreeMap = new TreeMap<Integer, String>();
-	public static NavigableSet<Integer> ns;
+	// jobs running on the grid, keyed by job id, and the job each Worker is executing
+	public ConcurrentMap<String, JobSpace> jobs = new ConcurrentHashMap<>();
+	private ConcurrentMap<String, String> workerJobs = new ConcurrentHashMap<>();
+
+	// failure record of each Worker, and the Workers currently shown as quarantined
+	private WorkerHealth health = new WorkerHealth();
+	private Set<String> quarantinedWorkers = ConcurrentHashMap.newKeySet();
+
+	// journal of task state transitions and results, replayed when the TaskSpace restarts
+	private volatile TaskJournal journal = new TaskJournal();
+
+	// result files uploaded by Workers are written on a few transfer threads, so only a few are written to disk at once
+	private static final int TRANSFER_THREADS = 4;
+	private static final int TRANSFER_QUEUE = 16;
+	private ResultFileIngest resultIngest = new ResultFileIngest(TRANSFER_THREADS, TRANSFER_QUEUE);
 
 	// for monitoring elapsed time on tasks
 	public ConcurrentMap<String, TaskTimer> taskTimers = new ConcurrentHashMap<>();
@@ -116,31 +126,22 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	private WorkerInt workerCommon;
 	private MasterInt masterCommon;
 	private String authToken;
+	private NotificationDispatcher dispatcher;
 
 	private ScheduledExecutorService pulseTimer;
 	private DiskManagement diskM;
 	private URI uri;
 
-	// termination flags
-	private boolean terminationRaised = false;
-	private boolean terminateImmediate = false;
-	private String terminatedCallingWorker;
-	private boolean finalTaskReturned;
-	private boolean amalgmateStarted;
-
 	// grid info
 	private int recruited = 0;
 	private int totalCpu = 0;
 	private long totalRam = 0;
 
-	// job parameters
-	private JobParameters theJob;
-	private String jobID;
-	private DataSource datasource;
-	private ResultDestination outputDestination;
 	private int pulseInterval = 5;
-	private int granularity;
-	private int taskTimeout;
+
+	// Workers waiting for a task park on this monitor until work is added, instead of being sent a notification
+	private final Object workSignal = new Object();
+	private long workVersion = 0;
 
 	private String baseDirectory = getClass().getResource("/javagrid/taskspace/jobs/").toString().replace("file:/", "");
 
@@ -205,6 +206,9 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	// on close, exit and terminate application thread
 	public void stop() throws Exception {
 		super.stop();
+		journal.close();
+		acquiredTasks.close();
+		resultIngest.shutdown();
 		Platform.exit();
 		System.exit(0);
 	}
@@ -300,6 +304,17 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 			}
 
 			authToken = xmlReader.token;
+			dispatcher = new NotificationDispatcher(authToken, clientType -> Platform.runLater(new Runnable() {
+				@Override
+				public void run() {
+					taskSpaceMainController.authError(clientType);
+				}
+			}));
+
+			// restore the jobs of a previous run before any node can connect
+			if (xmlReader.journal && !journal.isEnabled()) {
+				recoverJournal();
+			}
 
 			// start registry
 			Registry taskSpaceRegistry = LocateRegistry.createRegistry(rmiPort);
@@ -319,6 +334,88 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 
 	}
 
+	/**
+	 * start the journal, first restoring the jobs left by a previous run of the TaskSpace.  Tasks which were in flight when
+	 * the TaskSpace stopped wait in their job's retry queue, and each job's cursor carries on from where it stopped
+	 */
+	private void recoverJournal() {
+
+		journal = new TaskJournal(Paths.get(baseDirectory, "journal"));
+		Map<String, TaskJournal.JobState> recovered = journal.recover();
+
+		for (Map.Entry<String, TaskJournal.JobState> entry : recovered.entrySet()) {
+			TaskJournal.JobState state = entry.getValue();
+
+			JobParameters jobParam = null;
+			if (state.parameters != null) {
+				jobParam = TaskJournal.readParameters(state.parameters);
+			}
+			JobSpace job = job(jobParam == null ? entry.getKey() : jobParam.getJobId());
+			if (jobParam != null) {
+				applyJobParameters(jobParam);
+			}
+
+			job.inputFileSize = state.inputFileSize;
+			if (job.datasource == DataSource.FILE) {
+				job.scheduler.setIndexLimit(job.inputFileSize);
+				job.placement.setIndexLimit(job.inputFileSize);
+			}
+
+			// the DataSpace is recovered before the scheduler is told where the input ends
+			List<DataResultUI> inputs = new ArrayList<DataResultUI>();
+			for (byte[] item : state.dataSpace) {
+				DataResult dataResult = TaskJournal.decode(item);
+				job.dataSpace.add(dataResult);
+				if (dataResult != null) {
+					inputs.add(new DataResultUI(dataResult.getKeyIndex(), dataResult.getVisualValue()));
+				}
+			}
+			if (job.datasource == DataSource.DATA_SPACE) {
+				job.scheduler.setIndexLimit(job.dataSpace.size());
+			}
+
+			for (Map.Entry<Long, byte[]> result : state.results.entrySet()) {
+				DataResult dataResult = TaskJournal.decode(result.getValue());
+				if (dataResult != null) {
+					job.resultSpace.put(result.getKey(), dataResult);
+				}
+			}
+
+			job.terminationRaised = state.terminationRaised;
+			job.terminateImmediate = state.terminateImmediate;
+			job.terminatedCallingWorker = state.terminatedCallingWorker;
+
+			List<TaskUI> available = new ArrayList<TaskUI>();
+			if (state.open) {
+				job.taskCursor.open(state.nextIndex);
+				available.add(new TaskUI(job.nextTaskRow(), state.nextIndex, state.nextIndex));
+			}
+			for (long[] range : state.retries) {
+				Task theTask = new Task(range[0], range[1], true);
+				theTask.setJobId(job.key);
+				theTask.setID(job.retryRow());
+				job.offerRetry(theTask);
+				available.add(new TaskUI(job.retryRow(), range[0], range[1]));
+			}
+
+			// update UI
+			Platform.runLater(new Runnable() {
+				@Override
+				public void run() {
+					for (TaskUI temp : available) {
+						taskSpaceMainController.addTaskAvailableQueue(temp);
+					}
+					for (DataResultUI temp : inputs) {
+						taskSpaceMainController.addInputDataSpace(temp);
+					}
+				}
+			});
+
+			System.out.println("Recovered job " + job.jobID + " with " + state.retries.size() + " tasks to retry, "
+					+ state.dataSpace.size() + " inputs and " + state.results.size() + " results");
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -367,10 +464,6 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 						taskSpaceMainController.addWorkerToTree(wn);
 					}
 				});
-
-				if (!availableTasks.isEmpty()) {
-					notifyWorkers(Notification.NEW_TASK, "");
-				}
 			}
 			System.out.println(clientType + " connected from: " + ip + ":" + port);
 		} catch (ServerNotActiveException e) {
@@ -425,6 +518,12 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 					wn.setJvmMaxMemory(nodeSpec.getJvmMaxMemory());
 					wn.setFreeDisk(nodeSpec.getFreeDisk());
 
+					// the Worker may have joined its job before sending its specification
+					JobSpace job = workerJob(wn.getUUID());
+					if (job != null) {
+						job.scheduler.addWorker(wn);
+					}
+
 					recruited++;
 					if (hostnames.contains(workerNodes.get(i).getHostname())) {
 					} else {
@@ -503,6 +602,18 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 					wn.setCombinedCPU(pulseParam.getCombinedCPU());
 					wn.setJvmCPU(pulseParam.getJvmCPU());
 
+					// the number of the Worker's execution slots computing a task
+					double[] slotProgress = pulseParam.getSlotProgress();
+					if (slotProgress != null) {
+						int busy = 0;
+						for (double progress : slotProgress) {
+							if (progress >= 0) {
+								busy++;
+							}
+						}
+						wn.setSlots(busy, slotProgress.length);
+					}
+
 					// check if any open dialogs and update
 					for (int j = 0; j <= taskSpaceMainController.dialogs.size() - 1; j++) {
 						NodeDialog currentDialog = taskSpaceMainController.dialogs.get(j);
@@ -534,16 +645,31 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	private Runnable pulsate = new Runnable() {
 		public void run() {
 			PingAllNodes();
+			checkForStragglers();
 		}
 	};
 
+	/**
+	 * at the end of a job, wake waiting Workers when a straggler task has appeared so that an idle Worker can take a backup copy
+	 */
+	private void checkForStragglers() {
+
+		for (JobSpace job : jobs.values()) {
+			if (job.terminationRaised == true && job.terminateImmediate == false
+					&& job.speculation.newStraggler(acquiredTasks.activeJobTasks(job.key))) {
+				signalWork();
+			}
+		}
+	}
+
 	/**
 	 * ping all nodes, Master and Worker
 	 */
 	private void PingAllNodes() {
 
 		for (int i = 0; i <= workerNodes.size() - 1; i++) {
-			if (pingWorker(workerNodes.get(i).getIP(), Integer.parseInt(workerNodes.get(i).getPort()))) {
+			if (pingWorker(workerNodes.get(i).getUUID(), workerNodes.get(i).getIP(),
+					Integer.parseInt(workerNodes.get(i).getPort()))) {
 			} else {
 				System.out.println("A worker has disconnected...");
 				removeWorkerAndReassignTask(workerNodes.get(i).getUUID());
@@ -551,7 +677,8 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 		}
 
 		for (int i = 0; i <= masterNodes.size() - 1; i++) {
-			if (pingMaster(masterNodes.get(i).getIP(), Integer.parseInt(masterNodes.get(i).getPort()))) {
+			if (pingMaster(masterNodes.get(i).getUUID(), masterNodes.get(i).getIP(),
+					Integer.parseInt(masterNodes.get(i).getPort()))) {
 			} else {
 				removeMaster(masterNodes.get(i).getUUID());
 				System.out.println("The Master has disconnected.");
@@ -561,17 +688,17 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	}
 
 	/**
-	 * ping Worker by trying to connect to remote registry
+	 * ping Worker by calling its cached stub.  The stub is only looked up again if the call fails
 	 * 
+	 * @param uuid the id of the Worker
 	 * @param ip   the ip of the Worker
 	 * @param port the port of the Worker
 	 * @return true if Worker responds, false otherwise
 	 */
-	private boolean pingWorker(String ip, int port) {
+	private boolean pingWorker(String uuid, String ip, int port) {
 
 		try {
-			Registry workerRegistry = LocateRegistry.getRegistry(ip, port);
-			workerCommon = (WorkerInt) workerRegistry.lookup("WorkerRMI");
+			StubCache.getInstance().call(uuid, ip, port, "WorkerRMI", (WorkerInt worker) -> worker.getUUID());
 			return true;
 		} catch (Exception e) {
 			return false;
@@ -579,17 +706,17 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	}
 
 	/**
-	 * ping Master by trying to connect to remote registry
+	 * ping Master by calling its cached stub.  The stub is only looked up again if the call fails
 	 * 
+	 * @param uuid the id of the Master
 	 * @param ip   the ip of the Master
 	 * @param port the port of the Master
 	 * @return true if Master responds, false otherwise
 	 */
-	private boolean pingMaster(String ip, int port) {
+	private boolean pingMaster(String uuid, String ip, int port) {
 
 		try {
-			Registry masterRegistry = LocateRegistry.getRegistry(ip, port);
-			masterCommon = (MasterInt) masterRegistry.lookup("MasterRMI");
+			StubCache.getInstance().call(uuid, ip, port, "MasterRMI", (MasterInt master) -> master.getUUID());
 			return true;
 		} catch (Exception e) {
 			return false;
@@ -603,14 +730,50 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 * javagrid.interfaces.TaskSpaceInt#jobParameters(javagrid.common.JobParameters)
 	 */
 	public void jobParameters(JobParameters jobParam) throws RemoteException {
-		// update local variables after receiving job parameters
-		theJob = jobParam;
-		jobID = jobParam.getJobId();
-		datasource = jobParam.getInputSource();
-		outputDestination = jobParam.getOutputDestination();
+		journal.job(job(jobParam.getJobId()).key, jobParam);
+		applyJobParameters(jobParam);
+	}
+
+	/**
+	 * update the job's variables from its parameters, as received from the Master or recovered from the journal
+	 * 
+	 * @param jobParam the parameters of the job
+	 */
+	private void applyJobParameters(JobParameters jobParam) {
+		// update the job's variables after receiving job parameters
+		JobSpace job = job(jobParam.getJobId());
+		job.theJob = jobParam;
+		job.jobID = jobParam.getJobId();
+		job.masterUuid = jobParam.getMasterUuid();
+		job.datasource = jobParam.getInputSource();
+		job.outputDestination = jobParam.getOutputDestination();
+		job.granularity = jobParam.getGranularity();
+		job.taskTimeout = jobParam.getTaksTimeout();
 		pulseInterval = jobParam.getPulseInterval();
-		granularity = jobParam.getGranularity();
-		taskTimeout = jobParam.getTaksTimeout();
+
+		// size tasks with the chosen algorithm, starting from the Workers which have already joined the job
+		SchedulerInt scheduler;
+		if (jobParam.getAlgorithm() == Algorithm.PRIORI) {
+			scheduler = new PrioriScheduler(job.granularity);
+		} else if (jobParam.getAlgorithm() == Algorithm.RTS) {
+			scheduler = new RtsScheduler(job.granularity, job.taskTimeout);
+		} else {
+			scheduler = new StaticScheduler(job.granularity);
+		}
+		for (int i = 0; i <= workerNodes.size() - 1; i++) {
+			if (job.key.equals(workerJobs.get(workerNodes.get(i).getUUID()))) {
+				scheduler.addWorker(workerNodes.get(i));
+			}
+		}
+
+		// let the scheduler know where the input ends, if it is known
+		if (job.datasource == DataSource.DATA_SPACE) {
+			scheduler.setIndexLimit(job.dataSpace.size());
+		} else if (job.datasource == DataSource.FILE) {
+			scheduler.setIndexLimit(job.inputFileSize);
+			job.placement.setIndexLimit(job.inputFileSize);
+		}
+		job.scheduler = scheduler;
 
 		// terminate current timer and start again with new values
 		pulseTimer.shutdownNow();
@@ -618,113 +781,194 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 		pulseTimer.scheduleWithFixedDelay(pulsate, 3, pulseInterval, TimeUnit.SECONDS);
 	}
 
-	/**
-	 * Notify Workers on behalf of other methods
+	/*
+	 * (non-Javadoc)
 	 * 
-	 * @param notification the notification type
-	 * @param value        supplementary values
+	 * @see javagrid.interfaces.TaskSpaceInt#joinJob(java.lang.String,
+	 * java.lang.String)
 	 */
-	private void notifyWorkers(Notification notification, String value) {
+	public void joinJob(String uuid, String jobId) {
+
+		JobSpace job = job(jobId);
+		String previous = workerJobs.put(uuid, job.key);
+
+		// a Worker executes one job at a time, so leaves the scheduler of the job it was executing before
+		if (previous != null && !previous.equals(job.key)) {
+			JobSpace previousJob = jobs.get(previous);
+			if (previousJob != null) {
+				previousJob.scheduler.removeWorker(uuid);
+			}
+		}
 
 		for (int i = 0; i <= workerNodes.size() - 1; i++) {
+			if (workerNodes.get(i).getUUID().equals(uuid)) {
+				job.scheduler.addWorker(workerNodes.get(i));
+				break;
+			}
+		}
+	}
+
+	/**
+	 * get a job by its id, creating it if this is the first the TaskSpace has heard of it
+	 * 
+	 * @param jobId the id of the job
+	 * @return the job
+	 */
+	private JobSpace job(String jobId) {
+		return jobs.computeIfAbsent(JobSpace.key(jobId), k -> {
+			JobSpace job = new JobSpace(jobId);
+			job.placement.setReserveListener((startIndex, endIndex) -> journal.reserve(k, startIndex, endIndex));
+			return job;
+		});
+	}
 
-			Registry workerRegistry;
-			try {
-				workerRegistry = LocateRegistry.getRegistry(workerNodes.get(i).getIP(),
-						Integer.parseInt(workerNodes.get(i).getPort()));
-				workerCommon = (WorkerInt) workerRegistry.lookup("WorkerRMI");
+	/**
+	 * @param uuid the id of the Worker
+	 * @return the job the Worker is executing, or null if it has not joined one
+	 */
+	private JobSpace workerJob(String uuid) {
 
-				if (!workerCommon.authenticate(authToken, "TaskSpace", InetAddress.getLocalHost().getHostName())) {
-					if (taskSpaceMainController.authError("Worker")) {
-					}
-					throw new SecurityException(
-							"Authentication error - The supplied authentication token was rejected by worker at: "
-									+ workerNodes.get(i).getHostname());
-				}
+		String key = workerJobs.get(uuid);
+		return key == null ? null : jobs.get(key);
+	}
 
-				workerCommon.notification(notification, value);
-			} catch (NumberFormatException | RemoteException | NotBoundException | UnknownHostException e) {
-				e.printStackTrace();
+	/**
+	 * @param uuid the id of the Worker
+	 * @return the host the Worker runs on, or its id if it is not registered
+	 */
+	private String workerHost(String uuid) {
+
+		for (int i = 0; i <= workerNodes.size() - 1; i++) {
+			if (workerNodes.get(i).getUUID().equals(uuid)) {
+				return workerNodes.get(i).getHostname();
 			}
 		}
+		return uuid;
+	}
 
+	/**
+	 * the jobs a Worker can take tasks from, ordered by how far each is below its fair share of the grid, so that free
+	 * Workers are given to the job with the fewest active tasks.  A Worker which has joined a job only runs that job's
+	 * class, so is only offered that job
+	 * 
+	 * @param uuid the Worker requesting a task
+	 * @return the jobs, the furthest below its share first
+	 */
+	private List<JobSpace> fairShare(String uuid) {
+
+		List<JobSpace> eligible = new ArrayList<JobSpace>();
+		JobSpace bound = workerJob(uuid);
+		if (bound != null) {
+			eligible.add(bound);
+			return eligible;
+		}
+
+		// a Worker which has not joined a job can take tasks from any of them
+		eligible.addAll(jobs.values());
+		if (eligible.size() > 1) {
+			Map<String, Integer> shares = new HashMap<String, Integer>();
+			for (JobSpace job : eligible) {
+				shares.put(job.key, acquiredTasks.activeCount(job.key));
+			}
+			eligible.sort(Comparator.comparingInt(job -> shares.get(job.key)));
+		}
+		return eligible;
 	}
 
 	/**
-	 * Update the Master of the current status of the grid, after authenticating
+	 * Notify the Workers executing a job, on behalf of other methods
+	 * 
+	 * @param job          the job
+	 * @param notification the notification type
+	 * @param value        supplementary values
 	 */
-	private void notifyMastersGridInfo() {
+	private void notifyWorkers(JobSpace job, Notification notification, String value) {
 
-		for (int i = 0; i <= masterNodes.size() - 1; i++) {
-			Registry masterRegistry;
-			try {
-				// connect to the Master
-				masterRegistry = LocateRegistry.getRegistry(masterNodes.get(i).getIP(),
-						Integer.parseInt(masterNodes.get(i).getPort()));
-				masterCommon = (MasterInt) masterRegistry.lookup("MasterRMI");
-
-				// authenticate. If successful, continue, else exit
-				if (!masterCommon.authenticate(authToken, "TaskSpace", InetAddress.getLocalHost().getHostName())) {
-					if (taskSpaceMainController.authError("Master")) {
-					}
-					throw new SecurityException(
-							"Authentication error - The supplied authentication token was rejected by the Master at: "
-									+ masterNodes.get(i).getHostname());
-				}
-				// send the grid information
-				masterCommon.gridInfo(recruited, totalCpu, totalRam);
-			} catch (NumberFormatException | RemoteException | NotBoundException | UnknownHostException e) {
-				e.printStackTrace();
+		List<WorkerNode> jobWorkers = new ArrayList<WorkerNode>();
+		for (int i = 0; i <= workerNodes.size() - 1; i++) {
+			WorkerNode wn = workerNodes.get(i);
+			String key = workerJobs.get(wn.getUUID());
+			if (key == null || key.equals(job.key)) {
+				jobWorkers.add(wn);
 			}
 		}
+		dispatcher.notifyWorkers(jobWorkers, notification, value);
 	}
 
 	/**
-	 * Notify the Master
+	 * Update the Master of the current status of the grid, after authenticating
+	 */
+	private void notifyMastersGridInfo() {
+		dispatcher.gridInfo(masterNodes, recruited, totalCpu, totalRam);
+	}
+
+	/**
+	 * Notify the Master which submitted a job
 	 * 
+	 * @param job          the job
 	 * @param notification the notification type
 	 * @param value        supplementary values
 	 */
-	private void notifyMaster(Notification notification, String value) {
+	private void notifyMaster(JobSpace job, Notification notification, String value) {
 
-		for (int i = 0; i <= masterNodes.size() - 1; i++) {
+		MasterNode mn = jobMaster(job);
+		if (mn != null) {
+			dispatcher.notifyMasters(Collections.singletonList(mn), notification, value);
+		} else {
+			dispatcher.notifyMasters(masterNodes, notification, value);
+		}
+	}
 
-			Registry masterRegistry;
-			try {
-				masterRegistry = LocateRegistry.getRegistry(masterNodes.get(i).getIP(),
-						Integer.parseInt(masterNodes.get(i).getPort()));
-				masterCommon = (MasterInt) masterRegistry.lookup("MasterRMI");
-				masterCommon.notification(notification, value);
-			} catch (NumberFormatException | RemoteException | NotBoundException e) {
-				e.printStackTrace();
-			}
+	/**
+	 * @param job the job
+	 * @return the Master which submitted the job, or null if it is not known
+	 */
+	private MasterNode jobMaster(JobSpace job) {
 
+		for (int i = 0; i <= masterNodes.size() - 1; i++) {
+			if (masterNodes.get(i).getUUID().equals(job.masterUuid)) {
+				return masterNodes.get(i);
+			}
 		}
+		return null;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#notification(javagrid.enumeration.
-	 * Notification, java.lang.String)
+	 * @see javagrid.interfaces.TaskSpaceInt#notification(java.lang.String,
+	 * javagrid.enumeration.Notification, java.lang.String)
 	 */
-	public void notification(Notification type, String value) throws RemoteException {
+	public void notification(String jobId, Notification type, String value) throws RemoteException {
+
+		JobSpace job = job(jobId);
 
 		// notification received check
 		if (type == Notification.INPUT_READY) {
-			getFileFromMaster("InputFile", baseDirectory + value + ".jgf", theJob.getCompressSteams());
+			getFileFromMaster(job, "InputFile", baseDirectory + value + ".jgf", job.theJob.getCompressSteams());
+
+			// record the number of input items, for schedulers which size tasks against the end of the input
+			javaGridFile input = new javaGridFile(false, baseDirectory, "", value);
+			job.inputFileSize = input.size();
+			input.closeConnection();
+			job.scheduler.setIndexLimit(job.inputFileSize);
+			job.placement.setIndexLimit(job.inputFileSize);
+			journal.input(job.key, job.inputFileSize);
 		} else if (type == Notification.RESULT_READY) {
-			getFileFromWorker(value, theJob.getCompressSteams());
+			// only the first copy of a backed up task returns its result file
+			if (job.speculation.claim(value)) {
+				getFileFromWorker(job, value, job.theJob.getCompressSteams());
+			}
 		} else if (type == Notification.EXECUTE) {
 			setMasterJobStatus(value, "Executing");
 
 		} else if (type == Notification.PAUSE) {
 			setMasterJobStatus(value, "Paused");
-			notifyWorkers(Notification.PAUSE, "");
+			notifyWorkers(job, Notification.PAUSE, "");
 
 		} else if (type == Notification.ABORT) {
 			setMasterJobStatus(value, "Aborted");
-			notifyWorkers(Notification.ABORT, "");
+			notifyWorkers(job, Notification.ABORT, "");
 
 		} else if (type == Notification.SUCCESS) {
 			setMasterJobStatus(value, "Completed");
@@ -733,46 +977,73 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 			setMasterJobStatus(value, "Failed");
 
 		} else if (type == Notification.RESUME) {
-			notifyWorkers(Notification.RESUME, "");
+			notifyWorkers(job, Notification.RESUME, "");
 
 		} else if (type == Notification.RESET) {
 
-			// clear & reset
-			availableTasks.clear();
-			acquiredTasks.clear();
-			resultSpace.clear();
-			timedOutTasks.clear();
-			taskTimers.clear();
-			unsortedResultsTreeMap.clear();
-			sortedResultsTreeMap.clear();
+			// clear & reset the job
+			journal.reset(job.key);
+			job.taskCursor.close();
+			job.placement.clear();
+			job.clearRetries();
+			job.speculation.clear();
+			job.resultSpace.clear();
+			job.unsortedResultsTreeMap.clear();
+			job.sortedResultsTreeMap.clear();
+
+			job.terminationRaised = false;
+			job.terminateImmediate = false;
+			job.terminatedCallingWorker = "";
+			job.finalTaskReturned = false;
+			job.amalgmateStarted = false;
+
+			// tasks issued before the reset are cancelled, so their results are ignored when they arrive
+			for (Task theTask : acquiredTasks.activeJobTasks(job.key)) {
+				cancelTask(theTask.getID());
+			}
 
-			terminationRaised = false;
-			terminateImmediate = false;
-			terminatedCallingWorker = "";
-			finalTaskReturned = false;
-			amalgmateStarted = false;
+			// the acquired space is only cleared once no other job is using it
+			boolean otherJobsActive = false;
+			for (JobSpace other : jobs.values()) {
+				if (other != job && acquiredTasks.activeCount(other.key) > 0) {
+					otherJobsActive = true;
+				}
+			}
+			if (otherJobsActive == false) {
+				acquiredTasks.clear();
+				timedOutTasks.clear();
+				for (TaskTimer theTimer : taskTimers.values()) {
+					theTimer.cancelTimer();
+				}
+				taskTimers.clear();
+			}
 
-			diskM.deleteDirectory(Paths.get(baseDirectory + jobID));
-			diskM.createDirectory(Paths.get(baseDirectory + jobID));
+			diskM.deleteDirectory(Paths.get(baseDirectory + job.jobID));
+			diskM.createDirectory(Paths.get(baseDirectory + job.jobID));
 
-			resetWorkerTaskExecutedCounter();
-			notifyWorkers(Notification.RESET, "");
+			resetWorkerTaskExecutedCounter(job);
+			notifyWorkers(job, Notification.RESET, "");
 
 			// update UI
+			boolean clearAll = otherJobsActive == false;
 			Platform.runLater(new Runnable() {
 				@Override
 				public void run() {
-					taskSpaceMainController.removeAllTasksAvailableQueue();
-					taskSpaceMainController.removeAllTasksAcquiredQueue();
-					taskSpaceMainController.removeAllOutputsResultSpace();
-
+					if (clearAll) {
+						taskSpaceMainController.removeAllTasksAvailableQueue();
+						taskSpaceMainController.removeAllTasksAcquiredQueue();
+						taskSpaceMainController.removeAllOutputsResultSpace();
+					} else {
+						taskSpaceMainController.removeTaskAvailableQueue(job.nextTaskRow());
+						taskSpaceMainController.removeTaskAvailableQueue(job.retryRow());
+					}
 				}
 			});
 
-			if (datasource == DataSource.DATA_SPACE) {
+			if (job.datasource == DataSource.DATA_SPACE) {
 
 			} else {
-				clearDataSpace();
+				clearDataSpace(job.key);
 			}
 
 		}
@@ -780,11 +1051,16 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	}
 
 	/**
-	 * for all connected workers, reset the 'number of tasks executed' back to 0
+	 * for all workers executing a job, reset the 'number of tasks executed' back to 0
+	 * 
+	 * @param job the job being reset
 	 */
-	private void resetWorkerTaskExecutedCounter() {
+	private void resetWorkerTaskExecutedCounter(JobSpace job) {
 		for (int i = 0; i <= workerNodes.size() - 1; i++) {
-			workerNodes.get(i).setTasksExecuted(0);
+			String key = workerJobs.get(workerNodes.get(i).getUUID());
+			if (key == null || key.equals(job.key)) {
+				workerNodes.get(i).setTasksExecuted(0);
+			}
 		}
 	}
 
@@ -795,10 +1071,23 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 */
 	public void addTask(Task theTask) {
 
-		// always set a new task to "NextTask" marker
-		theTask.setID("NextTask");
-		availableTasks.offer(theTask);
-		TaskUI temp = new TaskUI("NextTask", theTask.getStartIndex(), theTask.getEndIndex());
+		TaskUI temp;
+		JobSpace job = job(theTask.getJobId());
+		theTask.setJobId(job.key);
+
+		// a returned task waits in its job's retry queue, otherwise the task marks the start of the job's index space
+		if (theTask.getPreviouslyFailed() == true) {
+			theTask.setID(job.retryRow());
+			journal.retry(job.key, theTask.getStartIndex(), theTask.getEndIndex());
+			job.offerRetry(theTask);
+			temp = new TaskUI(job.retryRow(), theTask.getStartIndex(), theTask.getEndIndex());
+		} else {
+			theTask.setID(job.nextTaskRow());
+			job.placement.clear();
+			journal.open(job.key, theTask.getStartIndex());
+			job.taskCursor.open(theTask.getStartIndex());
+			temp = new TaskUI(job.nextTaskRow(), theTask.getStartIndex(), theTask.getEndIndex());
+		}
 
 		// update UI
 		Platform.runLater(new Runnable() {
@@ -808,8 +1097,8 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 			}
 		});
 
-		// notify Workers of available task
-		notifyWorkers(Notification.NEW_TASK, "");
+		// wake Workers waiting for a task
+		signalWork();
 
 	}
 
@@ -820,37 +1109,76 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 */
 	public Task takeTask(String uuid) {
 
-		Date date = new Date();
-		Task theTask;
+		// a Worker which has just failed a task waits before leasing again, so another Worker picks up the range it failed
+		if (health.leaseDelay(uuid) > 0) {
+			return null;
+		}
+		if (quarantinedWorkers.remove(uuid)) {
+			setWorkerStatus(uuid, "Connected");
+		}
 
-		// synchronised block used, to ensure we take a task from the queue and insert
-		// another in one transaction
-		synchronized (availableTasks) {
+		// offer the Worker a task from each job it can execute, the job furthest below its fair share first
+		for (JobSpace job : fairShare(uuid)) {
+			Task theTask = takeTask(job, uuid);
+			if (theTask != null) {
+				return theTask;
+			}
+		}
+		return null;
+	}
 
-			theTask = availableTasks.poll();
+	/**
+	 * take a task from one job
+	 * 
+	 * @param job  the job to take a task from
+	 * @param uuid the Worker requesting a task
+	 * @return the task, or null if the job has no task to give
+	 */
+	private Task takeTask(JobSpace job, String uuid) {
 
-			if (theTask == null) {
-				return null;
-			}
+		Date date = new Date();
 
-			// update the task details
-			theTask.setID(UUID.randomUUID().toString());
-			theTask.setUuid(uuid);
-			theTask.setStatus(0);
-			theTask.setStartTime(date);
+		// returned tasks are served first, then new ranges are claimed from the cursor.  Neither takes a lock
+		Task theTask = job.pollRetry();
+		boolean retried = theTask != null;
 
-			// put a copy of the task into the acquired task space
-			acquiredTasks.put(acquiredTasks.size(), theTask);
+		// Workers on one host share the input file, so a file input is read in contiguous blocks per host
+		if (theTask == null && job.terminationRaised == false) {
+			if (job.datasource == DataSource.FILE) {
+				theTask = job.placement.claim(uuid, workerHost(uuid), job.scheduler);
+			} else {
+				theTask = job.taskCursor.claim(uuid, job.scheduler);
+			}
+		}
 
-			// if this task has previously failed, don't add subsequent task, otherwise
-			// great a new task from it's end index
-			if (theTask.getPreviouslyFailed() == true) {
-				notifyWorkers(Notification.NEW_TASK, "");
-			} else if (terminationRaised == false) {
-				addTask(new Task(theTask.getEndIndex() + 1, theTask.getEndIndex() + granularity, false));
+		// at the end of the job, an idle Worker runs a backup copy of the slowest task still running
+		Task straggler = null;
+		if (theTask == null && job.terminationRaised == true && job.terminateImmediate == false) {
+			straggler = job.speculation.selectStraggler(acquiredTasks.activeJobTasks(job.key), uuid);
+			if (straggler != null) {
+				theTask = new Task(straggler.getStartIndex(), straggler.getEndIndex(), false);
 			}
 		}
 
+		if (theTask == null) {
+			return null;
+		}
+
+		// update the task details
+		theTask.setID(UUID.randomUUID().toString());
+		theTask.setJobId(job.key);
+		theTask.setUuid(uuid);
+		theTask.setStatus(0);
+		theTask.setStartTime(date);
+
+		// put a copy of the task into the acquired task space
+		acquiredTasks.register(theTask);
+		journal.take(job.key, theTask.getID(), theTask.getStartIndex(), theTask.getEndIndex(),
+				retried ? TaskJournal.RETRIED : straggler != null ? TaskJournal.BACKUP : TaskJournal.NEW_RANGE);
+		if (straggler != null) {
+			job.speculation.pair(straggler.getID(), theTask.getID());
+		}
+
 		// update UI
 		TaskUI temp = new TaskUI(theTask.getID(), theTask.getStartIndex(), theTask.getEndIndex());
 		temp.setUuid(uuid);
@@ -861,42 +1189,149 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 			@Override
 			public void run() {
 				taskSpaceMainController.addTaskAcquiredQueue(temp);
-				taskSpaceMainController.removeTaskAvailableQueue(0);
+				if (retried) {
+					taskSpaceMainController.removeTaskAvailableQueue(job.retryRow());
+				}
 			}
 		});
 
 		// start task timer, if used in this job
-		if (taskTimeout > 0) {
-			TaskTimer theTimer = new TaskTimer(theTask.getID(), getIndexOfTask(theTask.getID()), taskTimeout);
-			taskTimers.put(theTask.getID(), theTimer);
-			taskTimers.get(theTask.getID()).startTimer();
+		if (job.taskTimeout > 0) {
+			String taskId = theTask.getID();
+			int taskIndex = theTask.getSequence();
+			TaskTimer theTimer = new TaskTimer(taskId, taskIndex, job.taskTimeout, new Runnable() {
+				public void run() {
+					taskTimedOut(taskId, taskIndex);
+				}
+			});
+			taskTimers.put(taskId, theTimer);
+			theTimer.startTimer();
 		}
 
 		return theTask;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javagrid.interfaces.TaskSpaceInt#takeTasks(java.lang.String, int, long)
+	 */
+	public List<Task> takeTasks(String uuid, int count, long waitMillis) {
+
+		long deadline = System.currentTimeMillis() + waitMillis;
+
+		while (true) {
+			long version;
+			synchronized (workSignal) {
+				version = workVersion;
+			}
+
+			List<Task> leased = leaseTasks(uuid, count);
+			long remaining = deadline - System.currentTimeMillis();
+			if (!leased.isEmpty() || count <= 0 || remaining <= 0) {
+				return leased;
+			}
+
+			// a Worker backing off after a failure sleeps out its wait, so it never takes the wake-up meant for another Worker
+			long delay = health.leaseDelay(uuid);
+			if (delay > 0) {
+				try {
+					Thread.sleep(Math.min(remaining, delay));
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return leased;
+				}
+				continue;
+			}
+
+			// park until work is added, unless some was added since the lease was attempted
+			synchronized (workSignal) {
+				if (version == workVersion) {
+					try {
+						workSignal.wait(remaining);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return leased;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * wake Workers parked in {@link #takeTasks(String, int, long)}.  Every waiting Worker is woken, as Workers of all jobs
+	 * wait on the one signal and only those which can take the new work lease it
+	 */
+	private void signalWork() {
+
+		synchronized (workSignal) {
+			workVersion++;
+			workSignal.notifyAll();
+		}
+	}
+
+	/**
+	 * take up to a number of tasks without waiting
+	 * 
+	 * @param uuid  the Worker requesting tasks
+	 * @param count the maximum number of tasks to lease
+	 * @return the leased tasks, which may be fewer than requested or empty
+	 */
+	private List<Task> leaseTasks(String uuid, int count) {
+
+		List<Task> leased = new ArrayList<Task>();
+
+		// lease until the count is met or the queue runs dry
+		for (int i = 0; i < count; i++) {
+			Task theTask = takeTask(uuid);
+			if (theTask == null) {
+				break;
+			}
+			leased.add(theTask);
+		}
+		return leased;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javagrid.interfaces.TaskSpaceInt#completeAndTakeTasks(java.lang.String,
+	 * java.util.List, int, long)
+	 */
+	public List<Task> completeAndTakeTasks(String uuid, List<Task> completed, int count, long waitMillis) {
+
+		for (Task theTask : completed) {
+			taskComplete(theTask, theTask.getStatus());
+		}
+		return takeTasks(uuid, count, waitMillis);
+	}
+
 	/**
 	 * populate the temporary treemap used to sort the ResultSpace
+	 * 
+	 * @param job the job whose results are sorted
 	 */
-	private void populateResultsTreeMap() {
+	private void populateResultsTreeMap(JobSpace job) {
 
-		for (Map.Entry<Integer, DataResult> entry : resultSpace.entrySet()) {
+		for (Map.Entry<Long, DataResult> entry : job.resultSpace.entrySet()) {
 			DataResult tempData = entry.getValue();
-			unsortedResultsTreeMap.put(tempData.getKeyIndex(), tempData.getVisualValue());
+			job.unsortedResultsTreeMap.put(tempData.getKeyIndex(), tempData.getVisualValue());
 		}
 
 	}
 
 	/**
 	 * populate the UI ResultsTable
+	 * 
+	 * @param job the job whose results are shown
 	 */
-	private void populateResultsTable() {
+	private void populateResultsTable(JobSpace job) {
 
-		ns = resultSpace.keySet();
+		job.ns = job.resultSpace.keySet();
 
-		sortedResultsTreeMap = new TreeMap<Integer, String>(unsortedResultsTreeMap);
+		job.sortedResultsTreeMap = new TreeMap<Long, String>(job.unsortedResultsTreeMap);
 
-		for (Map.Entry<Integer, String> entry : sortedResultsTreeMap.entrySet()) {
+		for (Map.Entry<Long, String> entry : job.sortedResultsTreeMap.entrySet()) {
 			DataResultUI tempUI = new DataResultUI(entry.getKey(), entry.getValue());
 
 			Platform.runLater(new Runnable() {
@@ -912,80 +1347,141 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#addResult(javagrid.common.DataResult)
+	 * @see javagrid.interfaces.TaskSpaceInt#addResult(java.lang.String,
+	 * javagrid.common.DataResult)
 	 */
-	public void addResult(DataResult dataResult) {
+	public void addResult(String jobId, DataResult dataResult) {
 		// resultSpace.put(dataResult.getKeyIndex(), dataResult);
-		resultSpace.put(dataResult.getKeyIndex(), dataResult);
+		JobSpace job = job(jobId);
+		journal.result(job.key, dataResult.getKeyIndex(), dataResult);
+		job.resultSpace.put(dataResult.getKeyIndex(), dataResult);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javagrid.interfaces.TaskSpaceInt#addResults(java.lang.String,
+	 * java.util.List)
+	 */
+	public void addResults(String jobId, List<DataResult> dataResults) {
+
+		JobSpace job = job(jobId);
+		Map<Long, DataResult> batch = new TreeMap<Long, DataResult>();
+		for (DataResult dataResult : dataResults) {
+			journal.result(job.key, dataResult.getKeyIndex(), dataResult);
+			batch.put(dataResult.getKeyIndex(), dataResult);
+		}
+		job.resultSpace.putAll(batch);
+
+		// the Worker reports its task complete once this returns, so the batch must be on disk first
+		try {
+			journal.sync();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			e.printStackTrace();
+		}
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#takeResult(int)
+	 * @see javagrid.interfaces.TaskSpaceInt#takeResult(java.lang.String, long)
 	 */
-	public DataResult takeResult(int key) {
+	public DataResult takeResult(String jobId, long key) {
 
 		taskSpaceMainController.removeOutputResultSpace(key);
 
 		// return resultSpace.remove (key);
-		return resultSpace.remove(key);
+		JobSpace job = job(jobId);
+		journal.takeResult(job.key, key);
+		return job.resultSpace.remove(key);
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * 
 	 * @see javagrid.interfaces.TaskSpaceInt#raiseTermination(java.lang.String,
-	 * boolean)
+	 * java.lang.String, boolean)
+	 */
+	public void raiseTermination(String jobId, String uuid, boolean terminateNow) {
+
+		// the calling Worker's own task is still active while it raises termination
+		raiseTermination(job(jobId), uuid, terminateNow, 1);
+	}
+
+	/**
+	 * raise, or check again, the termination of a job
+	 * 
+	 * @param job          the job to terminate
+	 * @param uuid         the id of the Worker which raised the termination request
+	 * @param terminateNow whether the job should complete immediately
+	 * @param remaining    the number of active tasks the job may still have and be finished: 1 when raised by a Worker
+	 *                     whose task is still active, 0 when checked again after a task has returned
 	 */
-	public void raiseTermination(String uuid, boolean terminateNow) {
+	private void raiseTermination(JobSpace job, String uuid, boolean terminateNow, int remaining) {
+
+		// items reserved for a host but not yet claimed are retried, as no new tasks are claimed once termination is raised
+		if (terminateNow == false) {
+			for (long[] range : job.placement.drain()) {
+				Task theTask = new Task(range[0], range[1], true);
+				theTask.setJobId(job.key);
+				addTask(theTask);
+			}
+		}
 
 		// if user has defined immediate termination, notify all Workers to terminate
 		// now
 		if (terminateNow == true) {
-			notifyWorkers(Notification.TERMINATE_IMMEDIATE, "");
-			notifyMaster(Notification.AMALGAMATE, "");
-			notifyMaster(Notification.SUCCESS, "");
+			notifyWorkers(job, Notification.TERMINATE_IMMEDIATE, "");
+			notifyMaster(job, Notification.AMALGAMATE, "");
+			notifyMaster(job, Notification.SUCCESS, "");
 
 			// if terminate at the end of current batch, continue checking until last task
 			// returned, then call termination
-		} else if (terminateNow == false && failedJobAwaiting() == false && activeTasksExist(uuid) == false) {
-			notifyWorkers(Notification.TERMINATE_END, "");
+		} else if (terminateNow == false && failedJobAwaiting(job) == false && activeTasksExist(job, remaining) == false) {
+			notifyWorkers(job, Notification.TERMINATE_END, "");
 
 			// if final task returned, amalgamate
-			if (finalTaskReturned == true) {
-				populateResultsTreeMap();
-				populateResultsTable();
-				notifyMaster(Notification.AMALGAMATE, "");
-				notifyMaster(Notification.SUCCESS, "");
+			if (job.finalTaskReturned == true) {
+				populateResultsTreeMap(job);
+				populateResultsTable(job);
+				notifyMaster(job, Notification.AMALGAMATE, "");
+				notifyMaster(job, Notification.SUCCESS, "");
 			}
 
 		}
-		terminationRaised = true;
-		terminateImmediate = terminateNow;
-		terminatedCallingWorker = uuid;
-		finalTaskReturned = false;
+		// no new tasks are claimed once termination has been raised
+		if (job.taskCursor.isOpen()) {
+			job.taskCursor.close();
+			Platform.runLater(new Runnable() {
+				@Override
+				public void run() {
+					taskSpaceMainController.removeTaskAvailableQueue(job.nextTaskRow());
+				}
+			});
+		}
+
+		if (job.terminationRaised == false || job.terminateImmediate != terminateNow) {
+			journal.terminate(job.key, uuid, terminateNow);
+		}
+		job.terminationRaised = true;
+		job.terminateImmediate = terminateNow;
+		job.terminatedCallingWorker = uuid;
+		job.finalTaskReturned = false;
 	}
 
 	/**
 	 * method used to check if there are any currently active tasks i.e. not
-	 * returned, apart from the one just returned by the calling Worker
+	 * returned, apart from those allowed to remain
 	 * 
-	 * @param uuid the id of the Worker raising termination
+	 * @param job       the job to check
+	 * @param remaining the number of active tasks which do not count, such as the
+	 *                  calling Worker's own task
 	 * @return true if active tasks exist, false otherwise
 	 */
-	private boolean activeTasksExist(String uuid) {
+	private boolean activeTasksExist(JobSpace job, int remaining) {
 
-		int count = 0;
-
-		for (Map.Entry<Integer, Task> entry : acquiredTasks.entrySet()) {
-			Task tempData = entry.getValue();
-			if (tempData.getStatus() == 0) {
-				count++;
-			}
-		}
-
-		if (count <= 1) {
+		if (acquiredTasks.activeCount(job.key) <= remaining) {
 			return false;
 		} else {
 			return true;
@@ -997,18 +1493,11 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 * confirm if any failed jobs are awaiting in the task queue and thus
 	 * termination should not be called yet
 	 * 
+	 * @param job the job to check
 	 * @return true if failed jobs awaiting, false otherwise
 	 */
-	private boolean failedJobAwaiting() {
-
-		Iterator<Task> itr = availableTasks.iterator();
-		while (itr.hasNext()) {
-			if (itr.next().getPreviouslyFailed() == true) {
-				return true;
-			}
-		}
-		return false;
-
+	private boolean failedJobAwaiting(JobSpace job) {
+		return job.retriesPending() > 0;
 	}
 
 	/*
@@ -1023,10 +1512,26 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 
 		} else {
 
-			// check termination condition again, as this could be the final task
-			if (terminationRaised == true) {
-				finalTaskReturned = true;
-				raiseTermination(terminatedCallingWorker, terminateImmediate);
+			// the task has been returned, so its timer is no longer needed
+			cancelTimer(theTask.getID());
+
+			JobSpace job = jobs.get(JobSpace.key(theTask.getJobId()));
+			if (job == null) {
+				return;
+			}
+
+			// of a task and its backup copy, only the first result is accepted, and the other copy's result is ignored
+			if (status == 2 && !job.speculation.claim(theTask.getID())) {
+				return;
+			}
+
+			// only a task still active is completed.  A task cancelled, reset or requeued since it was taken is ignored, as
+			// its range has been, or will be, given out again
+			if (!acquiredTasks.transition(theTask.getID(), 0, status)) {
+				if (status == 2) {
+					job.speculation.release(theTask.getID());
+				}
+				return;
 			}
 
 			// update the task details and increment Worker as returning one more job
@@ -1034,11 +1539,44 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 
 			theTask.setEndTime(date);
 			incrementWorkerTaskCount(theTask.getUuid());
-			theTask.setStatus(status);
+
+			// update the task space, ignoring tasks archived since
+			int theIndex = acquiredTasks.replace(theTask);
+			if (theIndex == -1) {
+				return;
+			}
+			journal.done(job.key, theTask.getID());
+
+			// a task the Worker could not publish is put back in the task queue, as no timeout may be set to do so
+			if (status == 1) {
+				theTask.setPreviouslyFailed(true);
+				if (!copyStillRunning(theTask)) {
+					addTask(retryTask(theTask));
+				}
+			}
+
+			// the other copy of the task is cancelled before the termination condition is checked
+			if (status == 2) {
+				String partner = job.speculation.getPartner(theTask.getID());
+				if (partner != null) {
+					cancelTask(partner);
+				}
+			}
+
+			// check termination condition again, as this could be the final task.  The returned task is no longer active
+			if (job.terminationRaised == true) {
+				job.finalTaskReturned = true;
+				raiseTermination(job, job.terminatedCallingWorker, job.terminateImmediate, 0);
+			}
+
+			// feed the measured duration of fully computed tasks back to the scheduler
+			if (status == 2) {
+				health.success(theTask.getUuid());
+				job.scheduler.taskComplete(theTask);
+				job.speculation.taskComplete(theTask);
+			}
 
 			// update the UI
-			int theIndex = getIndexOfTask(theTask.getID());
-			acquiredTasks.replace(theIndex, theTask);
 			System.out.println("Task completed in: " + theTask.getTaskDuration() + " seconds");
 			Platform.runLater(new Runnable() {
 				@Override
@@ -1051,14 +1589,78 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 		}
 	}
 
+	/**
+	 * cancel a copy of a task whose other copy has already returned its result, or a task issued before its job was reset
+	 * 
+	 * @param taskId the id of the task to cancel
+	 */
+	private void cancelTask(String taskId) {
+
+		if (acquiredTasks.transition(taskId, 0, 3)) {
+			cancelTimer(taskId);
+			journal.done(acquiredTasks.get(taskId).getJobId(), taskId);
+			int theIndex = acquiredTasks.getSequence(taskId);
+			Platform.runLater(new Runnable() {
+				@Override
+				public void run() {
+					taskSpaceMainController.setStatusAcquiredQueue(theIndex, 3);
+				}
+			});
+		}
+	}
+
+	/**
+	 * cancel the timeout of a task, if one was started
+	 * 
+	 * @param taskId the id of the task
+	 */
+	private void cancelTimer(String taskId) {
+
+		TaskTimer theTimer = taskTimers.remove(taskId);
+		if (theTimer != null) {
+			theTimer.cancelTimer();
+		}
+	}
+
+	/**
+	 * called when a task's timer runs out.  If the task is still active, it is assumed failed and returned to the task queue
+	 * 
+	 * @param taskId    the id of the task
+	 * @param taskIndex the index of the task, in the acquired list
+	 */
+	private void taskTimedOut(String taskId, int taskIndex) {
+
+		taskTimers.remove(taskId);
+		if (getStatusOfTaskByIndex(taskIndex) == 0) {
+			returnTaskToQueueByIndex(taskIndex);
+		}
+	}
+
+	/**
+	 * check if the other copy of a backed up task is still running, in which case a failed copy need not be returned to the
+	 * task queue
+	 * 
+	 * @param theTask the failed task
+	 * @return true if a backup copy of the task is still active, false otherwise
+	 */
+	private boolean copyStillRunning(Task theTask) {
+
+		JobSpace job = jobs.get(theTask.getJobId());
+		String partner = job == null ? null : job.speculation.getPartner(theTask.getID());
+		return partner != null && getStatusOfTaskByIndex(acquiredTasks.getSequence(partner)) == 0;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#addData(javagrid.common.DataResult)
+	 * @see javagrid.interfaces.TaskSpaceInt#addData(java.lang.String,
+	 * javagrid.common.DataResult)
 	 */
-	public void addData(DataResult dataResult) throws RemoteException {
+	public void addData(String jobId, DataResult dataResult) throws RemoteException {
 
-		dataSpace.add(dataResult);
+		JobSpace job = job(jobId);
+		job.dataSpace.add(dataResult);
+		journal.data(job.key, dataResult);
 
 		DataResultUI temp = new DataResultUI(dataResult.getKeyIndex(), dataResult.getVisualValue());
 
@@ -1074,12 +1676,14 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#takeData(int)
+	 * @see javagrid.interfaces.TaskSpaceInt#takeData(java.lang.String, long)
 	 */
-	public DataResult takeData(int key) throws RemoteException {
+	public DataResult takeData(String jobId, long key) throws RemoteException {
 
-		if (key <= dataSpace.size() - 1) {
-			return dataSpace.get(key);
+		// the DataSpace is held in memory, so never holds more items than fit in a list
+		ArrayList<DataResult> dataSpace = job(jobId).dataSpace;
+		if (key >= 0 && key <= dataSpace.size() - 1) {
+			return dataSpace.get((int) key);
 		}
 
 		else
@@ -1089,10 +1693,37 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#clearDataSpace()
+	 * @see javagrid.interfaces.TaskSpaceInt#takeDataRange(java.lang.String, long, long)
 	 */
-	public void clearDataSpace() {
-		dataSpace.clear();
+	public Object[] takeDataRange(String jobId, long startKey, long endKey) throws RemoteException {
+
+		if (startKey < 0 || endKey < startKey) {
+			throw new IllegalArgumentException("Invalid DataSpace range " + startKey + " - " + endKey);
+		}
+
+		// the range is sized from the DataSpace and a bound on the block, never from the keys asked for alone
+		ArrayList<DataResult> dataSpace = job(jobId).dataSpace;
+		long last = Math.min(Math.min(endKey, dataSpace.size() - 1), startKey + MAX_DATA_RANGE - 1);
+		if (last < startKey) {
+			return new Object[0];
+		}
+		Object[] items = new Object[(int) (last - startKey + 1)];
+		for (long key = startKey; key <= last; key++) {
+			DataResult item = dataSpace.get((int) key);
+			items[(int) (key - startKey)] = item == null ? null : item.getTheObject();
+		}
+		return items;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javagrid.interfaces.TaskSpaceInt#clearDataSpace(java.lang.String)
+	 */
+	public void clearDataSpace(String jobId) {
+		JobSpace job = job(jobId);
+		job.dataSpace.clear();
+		journal.clearData(job.key);
 		Platform.runLater(new Runnable() {
 			@Override
 			public void run() {
@@ -1108,18 +1739,7 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 * @return the corrosponding index
 	 */
 	public int getIndexOfTask(String taskId) {
-
-		int theIndex = 0;
-
-		for (Map.Entry<Integer, Task> entry : acquiredTasks.entrySet()) {
-			Task tempData = entry.getValue();
-			if (tempData.getID().equals(taskId)) {
-				theIndex = entry.getKey();
-				break;
-			}
-		}
-
-		return theIndex;
+		return acquiredTasks.getSequence(taskId);
 	}
 
 	/**
@@ -1155,6 +1775,41 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 		}
 	}
 
+	/**
+	 * record a failure of a Worker, quarantining the Worker if it has failed too many times in a row
+	 * 
+	 * @param uuid     the id of the Worker
+	 * @param timedOut true if the task timed out, false if it was lost with the Worker
+	 */
+	private void workerFailed(String uuid, boolean timedOut) {
+
+		if (health.failure(uuid, timedOut)) {
+			quarantinedWorkers.add(uuid);
+			setWorkerStatus(uuid, "Quarantined");
+			System.out.println("Worker " + uuid + " quarantined after repeated task failures: " + health.summary(uuid));
+		}
+	}
+
+	/**
+	 * @param uuid   the id of the Worker
+	 * @param status the status to show against the Worker
+	 */
+	private void setWorkerStatus(String uuid, String status) {
+
+		for (int i = 0; i <= workerNodes.size() - 1; i++) {
+			WorkerNode wn = workerNodes.get(i);
+			if (wn.getUUID().equals(uuid)) {
+				Platform.runLater(new Runnable() {
+					@Override
+					public void run() {
+						wn.setStatus(status);
+					}
+				});
+				break;
+			}
+		}
+	}
+
 	/**
 	 * get the current status of a task in question
 	 * 
@@ -1162,7 +1817,11 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 * @return the status of the task
 	 */
 	public int getStatusOfTaskByIndex(int taskIndex) {
-		return acquiredTasks.get(taskIndex).getStatus();
+		Task theTask = acquiredTasks.get(taskIndex);
+		if (theTask == null) {
+			return -1;
+		}
+		return theTask.getStatus();
 	}
 
 	/**
@@ -1172,6 +1831,9 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 */
 	private void removeMaster(String uuid) {
 
+		dispatcher.removeNode(uuid);
+		StubCache.getInstance().evict(uuid);
+
 		// iterate over entire list, find the node with the same id, then remove
 		for (int i = 0; i <= masterNodes.size() - 1; i++) {
 			if (masterNodes.get(i).getUUID().equals(uuid)) {
@@ -1206,6 +1868,9 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 */
 	private void removeWorkerAndReassignTask(String uuid) {
 
+		dispatcher.removeNode(uuid);
+		StubCache.getInstance().evict(uuid);
+
 		int instanceCount = 0;
 		for (int i = 0; i <= workerNodes.size() - 1; i++) {
 			if (workerNodes.get(i).getUUID().equals(uuid)) {
@@ -1227,6 +1892,11 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 			}
 		}
 
+		JobSpace job = workerJob(uuid);
+		if (job != null) {
+			job.scheduler.removeWorker(uuid);
+		}
+
 		// notify the Master of the grid change
 		notifyMastersGridInfo();
 
@@ -1239,6 +1909,7 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 		});
 		// call the method to return tasks back to task queue
 		returnTaskToQueueByWorkerID(uuid);
+		workerJobs.remove(uuid);
 	}
 
 	/**
@@ -1249,25 +1920,30 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	 */
 	private void returnTaskToQueueByWorkerID(String uuid) {
 
-		// check acquired list of tasks for the ones belonging to the Worker
-		for (Map.Entry<Integer, Task> entry : acquiredTasks.entrySet()) {
-			Task tempData = entry.getValue();
+		// check acquired list of tasks for the active ones belonging to the Worker
+		boolean lost = false;
+		for (Task tempData : acquiredTasks.activeTasks(uuid)) {
 
-			// find the failed ones
-			if (tempData.getUuid().equals(uuid) && tempData.getStatus() == 0) {
-
-				// mark that task as failed and put back in acquired task queue
+			// mark that task as failed and put back in acquired task queue
+			if (acquiredTasks.transition(tempData.getID(), 0, 1)) {
+				cancelTimer(tempData.getID());
+				journal.done(tempData.getJobId(), tempData.getID());
+				lost = true;
 				tempData.setPreviouslyFailed(true);
-				tempData.setStatus(1);
-				acquiredTasks.replace(entry.getKey(), tempData);
 
-				taskSpaceMainController.setStatusAcquiredQueue(entry.getKey(), 1);
+				taskSpaceMainController.setStatusAcquiredQueue(tempData.getSequence(), 1);
 
-				addTask(new Task(tempData.getStartIndex(), tempData.getEndIndex(), true));
-				break;
+				if (!copyStillRunning(tempData)) {
+					addTask(retryTask(tempData));
+				}
 			}
 		}
 
+		// the tasks lost with the Worker are one failure of the Worker, however many it held
+		if (lost) {
+			workerFailed(uuid, false);
+		}
+
 	}
 
 	/**
@@ -1281,27 +1957,47 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 
 		Task temp = acquiredTasks.get(index);
 
+		// the task may have been returned, or already reassigned, since the timer was started
+		if (temp == null || !acquiredTasks.transition(temp.getID(), 0, 1)) {
+			return;
+		}
+
 		temp.setPreviouslyFailed(true);
-		temp.setStatus(1);
-		acquiredTasks.replace(index, temp);
 		timedOutTasks.put(temp.getID(), "");
+		journal.done(temp.getJobId(), temp.getID());
+		workerFailed(temp.getUuid(), true);
 
 		taskSpaceMainController.setStatusAcquiredQueue(index, 4);
 
-		addTask(new Task(temp.getStartIndex(), temp.getEndIndex(), true));
+		if (!copyStillRunning(temp)) {
+			addTask(retryTask(temp));
+		}
+	}
+
+	/**
+	 * @param failed the task assumed failed
+	 * @return a new task covering the same range of the same job, to be returned to the task queue
+	 */
+	private Task retryTask(Task failed) {
+
+		Task theTask = new Task(failed.getStartIndex(), failed.getEndIndex(), true);
+		theTask.setJobId(failed.getJobId());
+		return theTask;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#sendFile(java.lang.String, boolean)
+	 * @see javagrid.interfaces.TaskSpaceInt#sendFile(java.lang.String,
+	 * java.lang.String, boolean)
 	 */
-	public RemoteInputStream sendFile(String fileType, boolean gzipCompressedStream) throws RemoteException {
+	public RemoteInputStream sendFile(String jobId, String fileType, boolean gzipCompressedStream) throws RemoteException {
 		// create a RemoteStreamServer (note the finally block which only releases
 		// the RMI resources if the method fails before returning.)
 
 		RemoteInputStreamServer istream = null;
 		String fileName = "";
+		String jobID = job(jobId).jobID;
 
 		try {
 
@@ -1343,20 +2039,24 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	}
 
 	/**
-	 * request file from the Master
+	 * request file from the Master which submitted a job
 	 * 
+	 * @param job                  the job the file belongs to
 	 * @param fileType             the type of file to request
 	 * @param localFilePath        the local path to save it to
 	 * @param gzipCompressedStream if gzip compressed streams should be used
 	 */
-	private void getFileFromMaster(String fileType, String localFilePath, boolean gzipCompressedStream) {
+	private void getFileFromMaster(JobSpace job, String fileType, String localFilePath, boolean gzipCompressedStream) {
 
 		try {
 			InputStream istream;
 
-			Registry masterRegistry = LocateRegistry.getRegistry(masterNodes.get(0).getIP(),
-					Integer.parseInt(masterNodes.get(0).getPort()));
-			masterCommon = (MasterInt) masterRegistry.lookup("MasterRMI");
+			MasterNode mn = jobMaster(job);
+			if (mn == null) {
+				mn = masterNodes.get(0);
+			}
+			masterCommon = StubCache.getInstance().lookup(mn.getUUID(), mn.getIP(), Integer.parseInt(mn.getPort()),
+					"MasterRMI");
 
 			// wrap RemoteInputStream as InputStream (all compression issues are dealt with
 			// in the wrapper code)
@@ -1376,25 +2076,24 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	/**
 	 * request a file from a Worker. A result file.
 	 * 
+	 * @param job                  the job the task belongs to
 	 * @param taskID               the task id which matches the result file to
 	 *                             return
 	 * @param gzipCompressedStream if gzip compressed streams should be used
 	 */
-	private void getFileFromWorker(String taskID, boolean gzipCompressedStream) {
+	private void getFileFromWorker(JobSpace job, String taskID, boolean gzipCompressedStream) {
 
 		try {
-			// connect to the Worker registry
-			Registry workerRegistry;
-			Task returnTask = acquiredTasks.get(getIndexOfTask(taskID));
+			// get the Worker's cached stub
+			Task returnTask = acquiredTasks.get(taskID);
 			String requestingUUID = returnTask.getUuid();
 			String fileName = returnTask.getRange();
 
 			// find the corresponding Worker in registered list, and its ip and port number
 			for (int i = 0; i <= workerNodes.size() - 1; i++) {
 				if (workerNodes.get(i).getUUID().equals(requestingUUID)) {
-					workerRegistry = LocateRegistry.getRegistry(workerNodes.get(i).getIP(),
-							Integer.parseInt(workerNodes.get(i).getPort()));
-					workerCommon = (WorkerInt) workerRegistry.lookup("WorkerRMI");
+					workerCommon = StubCache.getInstance().lookup(requestingUUID, workerNodes.get(i).getIP(),
+							Integer.parseInt(workerNodes.get(i).getPort()), "WorkerRMI");
 					break;
 				}
 			}
@@ -1409,7 +2108,7 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 				istream = RemoteInputStreamClient.wrap(workerCommon.sendFile(fileName, false));
 			}
 			// BufferedReader reader = new BufferedReader(new InputStreamReader(istream));
-			DiskIO.copyInputStreamToFile(istream, new File(baseDirectory + jobID + "/" + fileName + ".jgf"));
+			DiskIO.copyInputStreamToFile(istream, new File(baseDirectory + job.jobID + "/" + fileName + ".jgf"));
 		} catch (IOException | NotBoundException e) {
 			e.printStackTrace();
 		}
@@ -1419,15 +2118,50 @@ public class TaskSpaceMainApp extends Application implements TaskSpaceInt {
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see javagrid.interfaces.TaskSpaceInt#amalgamateResults(javagrid.interfaces.
-	 * AmalgamateInt)
+	 * @see javagrid.interfaces.TaskSpaceInt#uploadResultFile(java.lang.String,
+	 * java.lang.String, com.healthmarketscience.rmiio.RemoteInputStream, long)
+	 */
+	public boolean uploadResultFile(String jobId, String taskId, RemoteInputStream fileStream, long checksum)
+			throws RemoteException {
+
+		JobSpace job = job(jobId);
+		Task returnTask = acquiredTasks.get(taskId);
+		if (returnTask == null) {
+			return false;
+		}
+
+		// only the first copy of a backed up task returns its result file
+		if (!job.speculation.claim(taskId)) {
+			return true;
+		}
+
+		File target = new File(baseDirectory + job.jobID + "/" + returnTask.getRange() + ".jgf");
+		try {
+			if (resultIngest.ingest(RemoteInputStreamClient.wrap(fileStream), target, checksum)) {
+				return true;
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+
+		// let the other copy, or this one sent again, store the file instead
+		job.speculation.release(taskId);
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see javagrid.interfaces.TaskSpaceInt#amalgamateResults(java.lang.String,
+	 * javagrid.interfaces.AmalgamateInt)
 	 */
-	public void amalgamateResults(AmalgamateInt amalgamate) throws RemoteException {
+	public void amalgamateResults(String jobId, AmalgamateInt amalgamate) throws RemoteException {
 
-		if (amalgmateStarted == false) {
-			amalgmateStarted = true;
-			amalgamate.amalgamateInitialise(outputDestination, baseDirectory + jobID,
-					baseDirectory + jobID + "/" + jobID + "_Amalgamated.txt");
+		JobSpace job = job(jobId);
+		if (job.amalgmateStarted == false) {
+			job.amalgmateStarted = true;
+			amalgamate.amalgamateInitialise(job.outputDestination, baseDirectory + job.jobID,
+					baseDirectory + job.jobID + "/" + job.jobID + "_Amalgamated.txt");
 		}
 	}
 
@@ -9,61 +9,54 @@
  */
 package javagrid.taskspace;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
- * An instance of this class is created to monitor each new task and count down the timer.
+ * An instance of this class is created to monitor each new task and count down the timer.  All timers share a single
+ * scheduler thread, so the number of threads stays the same however many tasks are in flight, and a cancelled timer is
+ * removed from the scheduler straight away rather than being left to fire.
  */
 public class TaskTimer {
 
-    private Timer aTimer;
+    private static final ScheduledThreadPoolExecutor timeoutScheduler = createScheduler();
+
+    private ScheduledFuture<?> countdown;
     private String taskID;
     private int taskTimeout;
     private int taskIndex;
+    private Runnable onTimeout;
 
     /**
-     * Constructor which initialises variables and timer
+     * Constructor which initialises variables
      * 
      * @param taskID the task id which has been created and timer will monitor
      * @param taskIndex the index of the task, in the acquired list
      * @param taskTimeout this job's timout value, set by the user
+     * @param onTimeout called on the scheduler thread if the timer runs out before it is cancelled
      */
-    public TaskTimer(String taskID, int taskIndex, int taskTimeout){
+    public TaskTimer(String taskID, int taskIndex, int taskTimeout, Runnable onTimeout){
     	this.taskID = taskID;
     	this.taskIndex = taskIndex;
     	this.taskTimeout = taskTimeout;
-    	aTimer = new Timer(true);
+    	this.onTimeout = onTimeout;
     }
 
-    private TimerTask taskCountdownTimer = new TimerTask() {
-        @Override public void run() {
-
-        	//get the status of the task
-        	int status = TaskSpaceMainApp.getInstance().getStatusOfTaskByIndex(taskIndex);
-
-        	//if the status is active, it means it has not been returned and thus we can assume failed.  Return to task queue
-        	if (status == 0){
-        		TaskSpaceMainApp.getInstance().returnTaskToQueueByIndex(taskIndex);
-        	}
-        	//cancel this timer and remove itself.
-        	cancelTimer();
-        	TaskSpaceMainApp.getInstance().taskTimers.remove(taskID);
-        }
-    };
-
     /**
      * starts the timer to specifies interval based on job parameters
      */
     public void startTimer(){
-    	aTimer.schedule(taskCountdownTimer, taskTimeout * 1000);
+    	countdown = timeoutScheduler.schedule(onTimeout, taskTimeout, TimeUnit.SECONDS);
     }
     
     /**
      * cancels the currently running task timer
      */
     public void cancelTimer(){
-    	aTimer.cancel();
+    	if (countdown != null){
+    		countdown.cancel(false);
+    	}
     }
     
     /**
@@ -75,12 +68,31 @@ public class TaskTimer {
     }
     
     /**
-     * get an instance of this timer
+     * get the index of the task this timer is monitoring
+     * @return the index of the task, in the acquired list
+     */
+    public int getTaskIndex(){
+    	return taskIndex;
+    }
+
+    /**
+     * get the number of timers currently counting down, across all tasks
      * 
-     * @return the instance of the timer
+     * @return the number of timers scheduled and not yet fired or cancelled
      */
-    public Timer getTimer(){
-    	return aTimer;
+    public static int pendingTimers(){
+    	return timeoutScheduler.getQueue().size();
+    }
+
+    private static ScheduledThreadPoolExecutor createScheduler(){
+
+    	ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+    		Thread thread = new Thread(r, "TaskTimer");
+    		thread.setDaemon(true);
+    		return thread;
+    	});
+    	scheduler.setRemoveOnCancelPolicy(true);
+    	return scheduler;
     }
 
 }
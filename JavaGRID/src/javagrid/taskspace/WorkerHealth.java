@@ -0,0 +1,144 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ *
+ * August 2015
+ */
+package javagrid.taskspace;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps the failure and timeout record of each Worker.  A Worker whose task fails, times out or is lost when it disconnects
+ * must wait before it may lease again, for a time which doubles with each failure in a row, so the range it failed is picked
+ * up by another Worker first.  A Worker which fails several times in a row is quarantined for a while, and a successful task
+ * clears the run of failures.
+ * <p>
+ * A Worker holds several tasks at once, so one incident, such as a disconnect or a stall, may fail all of them together.
+ * Failures while the Worker is still waiting out the backoff of an earlier one belong to the same incident, and only the
+ * first is counted towards the run that quarantines it.
+ */
+public class WorkerHealth {
+
+	// wait after the first failure in a row, doubling with each one after, in milliseconds
+	private static final long BASE_BACKOFF = 1000;
+	private static final long MAX_BACKOFF = 30000;
+
+	// failures in a row after which a Worker is quarantined, and for how long, in milliseconds
+	private static final int QUARANTINE_AFTER = 5;
+	private static final long QUARANTINE_TIME = 300000;
+
+	private ConcurrentMap<String, Record> records = new ConcurrentHashMap<>();
+
+	/**
+	 * @param uuid the Worker which returned a task successfully
+	 */
+	public void success(String uuid) {
+		record(uuid).success();
+	}
+
+	/**
+	 * @param uuid the Worker whose task failed, timed out or was lost
+	 * @param timedOut true if the task timed out, false if it failed
+	 * @return true if the Worker has just been quarantined, false otherwise
+	 */
+	public boolean failure(String uuid, boolean timedOut) {
+		return record(uuid).failure(timedOut, System.currentTimeMillis());
+	}
+
+	/**
+	 * @param uuid the Worker asking to lease tasks
+	 * @return the time the Worker must still wait before it may lease, in milliseconds, or 0 if it may lease now
+	 */
+	public long leaseDelay(String uuid) {
+
+		Record theRecord = records.get(uuid);
+		return theRecord == null ? 0 : Math.max(0, theRecord.blockedUntil - System.currentTimeMillis());
+	}
+
+	/**
+	 * @param uuid the Worker
+	 * @return true if the Worker is serving a quarantine, false otherwise
+	 */
+	public boolean isQuarantined(String uuid) {
+
+		Record theRecord = records.get(uuid);
+		return theRecord != null && theRecord.quarantined && theRecord.blockedUntil > System.currentTimeMillis();
+	}
+
+	/**
+	 * @param uuid the Worker
+	 * @return the Worker's tasks returned, failed and timed out, for display
+	 */
+	public String summary(String uuid) {
+
+		Record theRecord = records.get(uuid);
+		if (theRecord == null) {
+			return "no tasks returned";
+		}
+		synchronized (theRecord) {
+			return theRecord.completed + " returned, " + theRecord.failures + " failed, " + theRecord.timeouts + " timed out";
+		}
+	}
+
+	/**
+	 * forget the record of every Worker, for example when a job is reset
+	 */
+	public void clear() {
+		records.clear();
+	}
+
+	private Record record(String uuid) {
+		return records.computeIfAbsent(uuid, k -> new Record());
+	}
+
+	/**
+	 * the record of one Worker
+	 */
+	private static class Record {
+
+		private long completed = 0;
+		private long failures = 0;
+		private long timeouts = 0;
+		private int failuresInRow = 0;
+		private boolean quarantined = false;
+		private volatile long blockedUntil = 0;
+
+		synchronized void success() {
+			completed++;
+			failuresInRow = 0;
+			quarantined = false;
+		}
+
+		synchronized boolean failure(boolean timedOut, long now) {
+
+			if (timedOut) {
+				timeouts++;
+			} else {
+				failures++;
+			}
+
+			// part of an incident already counted
+			if (blockedUntil > now) {
+				return false;
+			}
+			failuresInRow++;
+
+			if (failuresInRow >= QUARANTINE_AFTER) {
+				blockedUntil = now + QUARANTINE_TIME;
+				failuresInRow = 0;
+				quarantined = true;
+				return true;
+			}
+
+			long backoff = Math.min(MAX_BACKOFF, BASE_BACKOFF << Math.min(failuresInRow - 1, 16));
+			blockedUntil = Math.max(blockedUntil, now + backoff);
+			return false;
+		}
+	}
+
+}
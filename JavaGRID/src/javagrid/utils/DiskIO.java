@@ -19,12 +19,16 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.PrintWriter;
+import java.util.zip.CRC32;
 
 /**
  * This class is used to read and write from text files of format .txt
  */
 public class DiskIO {
 
+	//size of the buffer used to copy streams to files
+	private static final int COPY_BUFFER = 64 * 1024;
+
 	//readers and writers
 	private PrintWriter PW;
 	private InputStream IS;
@@ -124,7 +128,7 @@ public class DiskIO {
   	public static void copyInputStreamToFile(InputStream in, File file ) {
   	    try {
   	        OutputStream out = new FileOutputStream(file);
-  	        byte[] buf = new byte[1024];
+  	        byte[] buf = new byte[COPY_BUFFER];
   	        int len;
   	        while((len=in.read(buf))>0){
   	            out.write(buf,0,len);
@@ -136,4 +140,44 @@ public class DiskIO {
   	    }
   	}
 
+  	/**
+  	 * Copy the contents of an InputStream to a file and force it to disk before returning
+  	 *
+  	 * @param in the input stream to be saved from, which is closed once copied
+  	 * @param file the file to save to
+  	 * @return the CRC32 checksum of the bytes copied
+  	 * @throws IOException if the stream could not be read or the file written
+  	 */
+  	public static long copyInputStreamToFileSynced(InputStream in, File file) throws IOException {
+
+  		CRC32 crc = new CRC32();
+  		try (InputStream input = in; FileOutputStream out = new FileOutputStream(file)) {
+  			byte[] buf = new byte[COPY_BUFFER];
+  			int len;
+  			while ((len = input.read(buf)) > 0) {
+  				crc.update(buf, 0, len);
+  				out.write(buf, 0, len);
+  			}
+  			out.getFD().sync();
+  		}
+  		return crc.getValue();
+  	}
+
+  	/**
+  	 * @param file the file to read
+  	 * @return the CRC32 checksum of the file's contents
+  	 * @throws IOException if the file could not be read
+  	 */
+  	public static long checksum(File file) throws IOException {
+
+  		CRC32 crc = new CRC32();
+  		try (InputStream in = new FileInputStream(file)) {
+  			byte[] buf = new byte[COPY_BUFFER];
+  			int len;
+  			while ((len = in.read(buf)) > 0) {
+  				crc.update(buf, 0, len);
+  			}
+  		}
+  		return crc.getValue();
+  	}
 }
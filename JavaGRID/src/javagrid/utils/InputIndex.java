@@ -0,0 +1,265 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read-only sidecar of a jgf input file, which Workers memory map so that reading an item is a couple of array lookups
+ * rather than an SQL query.  The file holds the values of every item back to back, followed by a fixed width table of where
+ * each value starts, so item i is read from its two neighbouring offsets with no search.  The sidecar records the size and
+ * modification time of the jgf file it was built from, and is ignored once the jgf file changes.  An index is read by one
+ * thread at a time, like the connection of a jgf file.
+ */
+public class InputIndex implements Closeable {
+
+	private static final int MAGIC = 0x6A676931;
+	private static final int VERSION = 1;
+
+	// magic, version, item count, position of the offsets table, size and modification time of the jgf file
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 8;
+
+	// the mapping is split into segments, as one mapping is limited to 2GB.  A multiple of 8, so no offset spans two
+	private static final int SEGMENT_BITS = 30;
+	private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+	private long count;
+	private MappedByteBuffer[] values;
+	private MappedByteBuffer[] offsets;
+	private byte[] scratch = new byte[256];
+
+	private InputIndex(long count, MappedByteBuffer[] values, MappedByteBuffer[] offsets) {
+		this.count = count;
+		this.values = values;
+		this.offsets = offsets;
+	}
+
+	/**
+	 * @param source a jgf file
+	 * @return the path of the sidecar index of the jgf file
+	 */
+	public static Path indexPath(Path source) {
+		return source.resolveSibling(source.getFileName() + ".idx");
+	}
+
+	/**
+	 * map the sidecar index of a jgf file
+	 *
+	 * @param source the jgf file
+	 * @return the index, or null if there is none, or it was built from a different version of the jgf file
+	 */
+	public static InputIndex open(Path source) {
+
+		Path path = indexPath(source);
+		if (!Files.exists(path) || !Files.exists(source)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining()) {
+				if (channel.read(header, header.position()) < 0) {
+					return null;
+				}
+			}
+			header.flip();
+			if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+				return null;
+			}
+			long count = header.getLong();
+			long offsetsPosition = header.getLong();
+			if (header.getLong() != Files.size(source) || header.getLong() != Files.getLastModifiedTime(source).toMillis()) {
+				return null;
+			}
+			if (channel.size() < offsetsPosition + (count + 1) * 8) {
+				return null;
+			}
+
+			// the mapping stays valid once the channel is closed
+			return new InputIndex(count, map(channel, HEADER_SIZE, offsetsPosition - HEADER_SIZE),
+					map(channel, offsetsPosition, (count + 1) * 8));
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * @return the number of items in the index
+	 */
+	public long size() {
+		return count;
+	}
+
+	/**
+	 * read a single value.  The only allocation is the returned string
+	 *
+	 * @param index the index of the item
+	 * @return the value of the item, or null if the index is outside the file
+	 */
+	public String read(long index) {
+
+		if (index < 0 || index >= count) {
+			return null;
+		}
+
+		long start = offset(index);
+		int length = (int) (offset(index + 1) - start);
+		if (length > scratch.length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+		for (int i = 0; i < length; i++) {
+			long position = start + i;
+			scratch[i] = values[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+		}
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * release the index.  The mapping itself is released once it is no longer referenced
+	 */
+	public void close() {
+		values = null;
+		offsets = null;
+	}
+
+	private long offset(long index) {
+		long position = index * 8;
+		return offsets[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+	}
+
+	private static MappedByteBuffer[] map(FileChannel channel, long position, long size) throws IOException {
+
+		int segments = (int) ((size + SEGMENT_MASK) >>> SEGMENT_BITS);
+		MappedByteBuffer[] mapped = new MappedByteBuffer[Math.max(1, segments)];
+		for (int i = 0; i < mapped.length; i++) {
+			long segmentStart = (long) i << SEGMENT_BITS;
+			long segmentSize = Math.min(1L << SEGMENT_BITS, size - segmentStart);
+			mapped[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + segmentStart, Math.max(0, segmentSize));
+		}
+		return mapped;
+	}
+
+	/**
+	 * Writes the sidecar index of a jgf file from its values, given in index order from 0.  The index is written under a
+	 * temporary name and only moved into place by {@link #commit()}, so Workers on the same host building it at the same
+	 * time never read a partial index
+	 */
+	public static class Writer implements Closeable {
+
+		private Path source;
+		private Path valuesFile;
+		private Path offsetsFile;
+		private DataOutputStream valuesOut;
+		private DataOutputStream offsetsOut;
+		private long count = 0;
+		private long position = 0;
+		private boolean committed = false;
+
+		/**
+		 * @param source the jgf file the index is built from
+		 * @throws IOException if the temporary files could not be created
+		 */
+		public Writer(Path source) throws IOException {
+
+			this.source = source;
+			Path directory = source.toAbsolutePath().getParent();
+			valuesFile = Files.createTempFile(directory, source.getFileName().toString(), ".idx.part");
+			offsetsFile = Files.createTempFile(directory, source.getFileName().toString(), ".offsets.part");
+			valuesOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(valuesFile.toFile()), 64 * 1024));
+			offsetsOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(offsetsFile.toFile()), 64 * 1024));
+
+			// the header is filled in once the item count is known
+			valuesOut.write(new byte[HEADER_SIZE]);
+		}
+
+		/**
+		 * @param value the value of the next item, which may not be null
+		 * @throws IOException if the value is null or could not be written
+		 */
+		public void add(String value) throws IOException {
+
+			if (value == null) {
+				throw new IOException("A null value cannot be indexed");
+			}
+
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			offsetsOut.writeLong(position);
+			valuesOut.write(bytes);
+			position = position + bytes.length;
+			count++;
+		}
+
+		/**
+		 * write the offsets table and header, force the index to disk and move it into place
+		 *
+		 * @throws IOException if the index could not be written
+		 */
+		public void commit() throws IOException {
+
+			offsetsOut.writeLong(position);
+			offsetsOut.close();
+
+			// the offsets table starts on a multiple of 8
+			long offsetsPosition = HEADER_SIZE + position;
+			int padding = (int) ((8 - (offsetsPosition % 8)) % 8);
+			valuesOut.write(new byte[padding]);
+			offsetsPosition = offsetsPosition + padding;
+			valuesOut.close();
+
+			try (FileChannel index = FileChannel.open(valuesFile, StandardOpenOption.WRITE);
+					FileChannel table = FileChannel.open(offsetsFile, StandardOpenOption.READ)) {
+
+				long copied = 0;
+				while (copied < table.size()) {
+					copied = copied + table.transferTo(copied, table.size() - copied, index.position(offsetsPosition + copied));
+				}
+
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				header.putInt(MAGIC).putInt(VERSION).putLong(count).putLong(offsetsPosition);
+				header.putLong(Files.size(source)).putLong(Files.getLastModifiedTime(source).toMillis());
+				header.flip();
+				while (header.hasRemaining()) {
+					index.write(header, header.position());
+				}
+				index.force(true);
+			}
+
+			Files.move(valuesFile, indexPath(source), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			committed = true;
+		}
+
+		/**
+		 * discard the temporary files, and the index unless it was committed
+		 */
+		public void close() throws IOException {
+
+			valuesOut.close();
+			offsetsOut.close();
+			Files.deleteIfExists(offsetsFile);
+			if (!committed) {
+				Files.deleteIfExists(valuesFile);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,154 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.utils;
+
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-process cache of the RMI stubs of other nodes, keyed by node id.  A stub is looked up in the node's registry the first
+ * time it is needed and reused from then on.  A call which fails marks the node unhealthy and drops its stub, so the stub is
+ * looked up again the next time it is needed, and a node which leaves the grid is evicted.
+ */
+public class StubCache {
+
+	private static final StubCache instance = new StubCache();
+
+	private ConcurrentMap<String, CachedStub> stubs = new ConcurrentHashMap<>();
+
+	/**
+	 * a remote call to make on a cached stub
+	 *
+	 * @param <T> the remote interface of the stub
+	 * @param <R> the result of the call
+	 */
+	public interface RemoteCall<T extends Remote, R> {
+		R call(T stub) throws RemoteException;
+	}
+
+	/**
+	 * @return the stub cache shared by this process
+	 */
+	public static StubCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * get the stub of a node, looking it up in the node's registry if it is not cached or the node has moved
+	 *
+	 * @param key the id of the node
+	 * @param ip the ip of the node's registry
+	 * @param port the port of the node's registry
+	 * @param name the name the stub is bound to in the registry
+	 * @return the stub
+	 * @throws RemoteException if the registry could not be reached
+	 * @throws NotBoundException if no stub is bound to the name
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends Remote> T lookup(String key, String ip, int port, String name) throws RemoteException, NotBoundException {
+
+		CachedStub cached = stubs.get(key);
+		if (cached != null && cached.stub != null && cached.matches(ip, port, name)) {
+			return (T) cached.stub;
+		}
+
+		Remote stub = LocateRegistry.getRegistry(ip, port).lookup(name);
+		stubs.put(key, new CachedStub(ip, port, name, stub));
+		return (T) stub;
+	}
+
+	/**
+	 * make a call on the stub of a node.  If the call fails, the stub is looked up again and the call retried once
+	 *
+	 * @param key the id of the node
+	 * @param ip the ip of the node's registry
+	 * @param port the port of the node's registry
+	 * @param name the name the stub is bound to in the registry
+	 * @param remoteCall the call to make
+	 * @return the result of the call
+	 * @throws RemoteException if the call failed on both attempts
+	 * @throws NotBoundException if no stub is bound to the name
+	 */
+	public <T extends Remote, R> R call(String key, String ip, int port, String name, RemoteCall<T, R> remoteCall)
+			throws RemoteException, NotBoundException {
+
+		try {
+			return remoteCall.call(lookup(key, ip, port, name));
+		} catch (RemoteException e) {
+			invalidate(key);
+		}
+
+		try {
+			return remoteCall.call(lookup(key, ip, port, name));
+		} catch (RemoteException | NotBoundException e) {
+			invalidate(key);
+			throw e;
+		}
+	}
+
+	/**
+	 * mark a node unhealthy after a failed call and drop its stub, so it is looked up again when next needed
+	 *
+	 * @param key the id of the node
+	 */
+	public void invalidate(String key) {
+
+		CachedStub cached = stubs.get(key);
+		if (cached != null) {
+			cached.stub = null;
+		}
+	}
+
+	/**
+	 * @param key the id of the node
+	 * @return true if the node's stub is cached and its last call succeeded, false otherwise
+	 */
+	public boolean isHealthy(String key) {
+
+		CachedStub cached = stubs.get(key);
+		return cached != null && cached.stub != null;
+	}
+
+	/**
+	 * remove a node which has left the grid
+	 *
+	 * @param key the id of the node
+	 */
+	public void evict(String key) {
+		stubs.remove(key);
+	}
+
+	/**
+	 * a stub and the registry it was looked up in
+	 */
+	private static class CachedStub {
+
+		private String ip;
+		private int port;
+		private String name;
+		private volatile Remote stub;
+
+		CachedStub(String ip, int port, String name, Remote stub) {
+			this.ip = ip;
+			this.port = port;
+			this.name = name;
+			this.stub = stub;
+		}
+
+		boolean matches(String ip, int port, String name) {
+			return this.ip.equals(ip) && this.port == port && this.name.equals(name);
+		}
+	}
+
+}
@@ -33,7 +33,10 @@ public class javaGridFile {
 	private PreparedStatement pstSize;
 	private ResultSet rs;
 
-	private int index = 0;
+	//memory mapped sidecar index, read instead of the table when the file has one
+	private InputIndex inputIndex;
+
+	private long index = 0;
 	private int count = 0;
 	private String create;
 	private String insert;
@@ -123,12 +126,55 @@ public class javaGridFile {
 				size = "SELECT Count(*) AS size FROM Inputs";
 				pstSize = conn.prepareStatement(size);
 
+				//read from the sidecar index instead, if one has been built for this version of the file
+				inputIndex = InputIndex.open(fullPath);
+
 			} catch (SQLException e) {
 				e.printStackTrace();
 			}
 
 	}
 
+	/**
+	 * build a memory mapped sidecar index of this file, unless it already has one, so that values are read from the index
+	 * rather than with a query each.  Only used on files which are read, and only once every value has been saved.  Values
+	 * must have indexes from 0 up with no gaps and none may be NULL, otherwise no index is built and values are still read from
+	 * the table
+	 *
+	 * @return true if values are now read from the index, false otherwise
+	 */
+	public boolean index(){
+
+		if (inputIndex == null){
+			inputIndex = InputIndex.open(fullPath);
+		}
+		if (inputIndex != null){
+			return true;
+		}
+
+		try (InputIndex.Writer writer = new InputIndex.Writer(fullPath);
+				PreparedStatement pstAll = conn.prepareStatement("SELECT aIndex, value FROM Inputs ORDER BY aIndex");
+				ResultSet all = pstAll.executeQuery()) {
+
+			long expected = 0;
+			while (all.next()) {
+				String value = all.getString(2);
+				if (all.getLong(1) != expected++ || value == null){
+					return false;
+				}
+				writer.add(value);
+			}
+			writer.commit();
+
+		} catch (SQLException | IOException e) {
+			e.printStackTrace();
+			return false;
+		}
+
+		inputIndex = InputIndex.open(fullPath);
+		return inputIndex != null;
+	}
+
 	/**
 	 * after the creation of a new empty sqlite file, a table named "Input" needs to be created.
 	 */
@@ -153,7 +199,7 @@ public class javaGridFile {
 	public void saveValue(String value){
 
 		try {
-			pstInsert.setInt(1, index);
+			pstInsert.setLong(1, index);
 			pstInsert.setString(2, value);
 			pstInsert.addBatch();
 			index++;
@@ -188,10 +234,14 @@ public class javaGridFile {
 	 * @param index the index to be read
 	 * @return the item read
 	 */
-	public String readValue(int index){
+	public String readValue(long index){
+
+		if (inputIndex != null){
+			return inputIndex.read(index);
+		}
 
 		try {
-			pstSelect.setInt(1, index);
+			pstSelect.setLong(1, index);
 			rs = pstSelect.executeQuery();
 			while (rs.next()) {
 				return rs.getString("value");
@@ -210,12 +260,16 @@ public class javaGridFile {
 	 * 
 	 * @return the size of the table
 	 */
-	public int size(){
+	public long size(){
+
+		if (inputIndex != null){
+			return inputIndex.size();
+		}
 
 		try {
 			rs = pstSize.executeQuery();
 			while (rs.next()) {
-				return rs.getInt("size");
+				return rs.getLong("size");
 			}
 
 		} catch (SQLException e) {
@@ -229,6 +283,11 @@ public class javaGridFile {
 	 */
 	public void closeConnection(){
 
+		if (inputIndex != null){
+			inputIndex.close();
+			inputIndex = null;
+		}
+
 		try {
 			conn.close();
 		} catch (SQLException e) {
@@ -0,0 +1,140 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.worker;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javagrid.interfaces.TaskSpaceInt;
+
+/**
+ * Reads the inputs of a task's range from the job's DataSpace a block at a time, rather than with a call to the TaskSpace
+ * for each item.  While the items of one block are computed, the next block is read in the background, so in the steady
+ * state the computation does not wait on the network.  Items are expected to be read in index order, and reading out of
+ * order only costs an extra call.
+ */
+public class DataSpaceReader {
+
+	/**
+	 * the number of items read from the DataSpace in one call
+	 */
+	public static final int BLOCK_SIZE = 1024;
+
+	private TaskSpaceInt taskSpace;
+	private String jobId;
+	private long endIndex;
+	private int blockSize;
+	private ExecutorService executor;
+
+	private Object[] block = new Object[0];
+	private long blockStart = 0;
+	private Future<Object[]> nextBlock;
+	private long nextStart = -1;
+
+	/**
+	 * @param taskSpace the TaskSpace holding the DataSpace
+	 * @param jobId the id of the job
+	 * @param startIndex the index of the first item of the range
+	 * @param endIndex the index of the last item of the range, inclusive.  Nothing beyond it is read
+	 * @param blockSize the number of items read in one call, up to {@link TaskSpaceInt#MAX_DATA_RANGE}
+	 * @param executor runs the reads of the next block in the background
+	 */
+	public DataSpaceReader(TaskSpaceInt taskSpace, String jobId, long startIndex, long endIndex, int blockSize,
+			ExecutorService executor) {
+
+		this.taskSpace = taskSpace;
+		this.jobId = jobId;
+		this.endIndex = endIndex;
+		this.blockSize = Math.max(1, Math.min(blockSize, TaskSpaceInt.MAX_DATA_RANGE));
+		this.executor = executor;
+		readAhead(startIndex);
+	}
+
+	/**
+	 * @param index the index of the item, within the range of the reader
+	 * @return the object of the item, or null if it is not in the DataSpace
+	 * @throws RemoteException if the block holding the item could not be read from the TaskSpace
+	 */
+	public Object read(long index) throws RemoteException {
+
+		if (index < blockStart || index >= blockStart + block.length) {
+
+			if (nextBlock != null && index >= nextStart && index < nextStart + blockSize) {
+				block = await(nextBlock);
+				blockStart = nextStart;
+			} else {
+				cancel();
+				blockStart = index;
+				block = taskSpace.takeDataRange(jobId, index, blockEnd(index));
+			}
+			nextBlock = null;
+
+			//read the following block while this one is computed
+			readAhead(blockStart + block.length);
+
+			if (index >= blockStart + block.length) {
+				return null;
+			}
+		}
+		return block[(int) (index - blockStart)];
+	}
+
+	/**
+	 * stop any read of the next block which is still in progress, once the range is no longer needed
+	 */
+	public void close() {
+		cancel();
+		block = new Object[0];
+	}
+
+	private void readAhead(long start) {
+
+		if (start > endIndex) {
+			return;
+		}
+		nextStart = start;
+		nextBlock = executor.submit(new Callable<Object[]>() {
+			public Object[] call() throws RemoteException {
+				return taskSpace.takeDataRange(jobId, start, blockEnd(start));
+			}
+		});
+	}
+
+	private long blockEnd(long start) {
+		return Math.min(endIndex, start + blockSize - 1);
+	}
+
+	private Object[] await(Future<Object[]> pending) throws RemoteException {
+
+		try {
+			return pending.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RemoteException) {
+				throw (RemoteException) e.getCause();
+			}
+			throw new RemoteException("DataSpace read failed", e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RemoteException("DataSpace read interrupted", e);
+		}
+	}
+
+	private void cancel() {
+
+		if (nextBlock != null) {
+			nextBlock.cancel(true);
+			nextBlock = null;
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.worker;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Runs the items of tasks with many in flight at once, for jobs whose items spend most of their time waiting on the network,
+ * such as those taking their input from the DataSpace.  Each item runs on its own virtual thread, so hundreds of items can
+ * wait on the TaskSpace without hundreds of platform threads.  The number of items in flight is bounded across every slot of
+ * the Worker.
+ */
+public class ItemExecutor {
+
+	private ExecutorService executor;
+	private Semaphore permits;
+
+	/**
+	 * computes one item of a task
+	 */
+	public interface Item {
+
+		/**
+		 * @param index the index of the item
+		 * @return the result of the item, or null for it to be discarded
+		 * @throws Exception if the item could not be computed, in which case it is left not computed
+		 */
+		Object compute(long index) throws Exception;
+	}
+
+	/**
+	 * @param concurrency the most items in flight at once, across every caller
+	 */
+	public ItemExecutor(int concurrency) {
+
+		permits = new Semaphore(Math.max(1, concurrency));
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+	}
+
+	/**
+	 * run a range of items and wait for them all to finish.  Items are started in index order, each once a permit is free
+	 *
+	 * @param firstIndex the index of the first item
+	 * @param results filled with the result of each item, by its position in the range
+	 * @param computed set for each item which was computed.  Its length is the number of items in the range
+	 * @param item the computation of one item
+	 * @param stop checked before each item is started, and once true no more items are started
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for items.  No more items are started,
+	 *                              and it is thrown once the items already started have finished
+	 */
+	public void run(long firstIndex, Object[] results, boolean[] computed, Item item, BooleanSupplier stop)
+			throws InterruptedException {
+
+		CountDownLatch finished = new CountDownLatch(computed.length);
+		int started = 0;
+		InterruptedException interrupted = null;
+		try {
+			for (; started < computed.length && !stop.getAsBoolean(); started++) {
+				permits.acquire();
+
+				int position = started;
+				executor.execute(new Runnable() {
+					public void run() {
+						try {
+							results[position] = item.compute(firstIndex + position);
+							computed[position] = true;
+						} catch (Exception e) {
+							e.printStackTrace();
+						} finally {
+							permits.release();
+							finished.countDown();
+						}
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			interrupted = e;
+		} finally {
+			// items never started are counted as finished
+			for (int i = started; i < computed.length; i++) {
+				finished.countDown();
+			}
+		}
+
+		// items already started still write to results and computed, so they are waited for even once interrupted
+		while (true) {
+			try {
+				finished.await();
+				break;
+			} catch (InterruptedException e) {
+				interrupted = e;
+			}
+		}
+		if (interrupted != null) {
+			throw interrupted;
+		}
+	}
+
+	/**
+	 * stop the threads of the executor once their items have finished
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.worker;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javagrid.common.DataResult;
+import javagrid.interfaces.TaskSpaceInt;
+
+/**
+ * Gathers the results a Worker sends to the ResultSpace and sends them to the TaskSpace in batches, rather than with a call
+ * for each result.  A batch is sent once it is full, once its oldest result has waited long enough, and whenever the Worker
+ * flushes it at the end of a task.  A flush returns only once every result added before it is held by the TaskSpace, so a
+ * task is never reported complete while its results are still on the Worker.  Results of a batch which could not be sent
+ * are kept, and sent with the next batch.
+ */
+public class ResultBuffer {
+
+	private Supplier<TaskSpaceInt> taskSpace;
+	private String jobId;
+	private int batchSize;
+	private long flushMillis;
+
+	private final Object bufferLock = new Object();
+	private List<DataResult> buffer = new ArrayList<DataResult>();
+	private long oldest = 0;
+
+	// held while a batch is sent, so a flush waits for any batch already on its way
+	private final Object sendLock = new Object();
+	private ScheduledExecutorService flushTimer;
+
+	/**
+	 * @param taskSpace gives the TaskSpace to send results to, which may change if the Worker reconnects
+	 * @param jobId the id of the job the results belong to
+	 * @param batchSize the number of results sent in one call
+	 * @param flushMillis the longest a result waits on the Worker before it is sent, in milliseconds
+	 */
+	public ResultBuffer(Supplier<TaskSpaceInt> taskSpace, String jobId, int batchSize, long flushMillis) {
+
+		this.taskSpace = taskSpace;
+		this.jobId = jobId;
+		this.batchSize = Math.max(1, batchSize);
+		this.flushMillis = flushMillis;
+
+		flushTimer = Executors.newSingleThreadScheduledExecutor();
+		flushTimer.scheduleWithFixedDelay(new Runnable() {
+			public void run() {
+				flushStale();
+			}
+		}, flushMillis, Math.max(1, flushMillis / 2), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @return the id of the job the results belong to
+	 */
+	public String getJobId() {
+		return jobId;
+	}
+
+	/**
+	 * add a result, sending the batch if it is now full
+	 *
+	 * @param dataResult the result to send to the ResultSpace
+	 * @throws RemoteException if a full batch could not be sent, in which case it is kept to be sent again
+	 */
+	public void add(DataResult dataResult) throws RemoteException {
+
+		boolean full;
+		synchronized (bufferLock) {
+			if (buffer.isEmpty()) {
+				oldest = System.currentTimeMillis();
+			}
+			buffer.add(dataResult);
+			full = buffer.size() >= batchSize;
+		}
+		if (full) {
+			flush();
+		}
+	}
+
+	/**
+	 * send every result added so far, and wait until the TaskSpace holds them
+	 *
+	 * @throws RemoteException if the results could not be sent, in which case they are kept to be sent again
+	 */
+	public void flush() throws RemoteException {
+
+		synchronized (sendLock) {
+			List<DataResult> batch;
+			synchronized (bufferLock) {
+				if (buffer.isEmpty()) {
+					return;
+				}
+				batch = buffer;
+				buffer = new ArrayList<DataResult>(batchSize);
+			}
+
+			try {
+				taskSpace.get().addResults(jobId, batch);
+			} catch (RemoteException | RuntimeException e) {
+				synchronized (bufferLock) {
+					batch.addAll(buffer);
+					buffer = batch;
+					oldest = System.currentTimeMillis();
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * send any results left and stop the flush timer, for example when a new job is received
+	 */
+	public void close() {
+
+		flushTimer.shutdown();
+		try {
+			flush();
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void flushStale() {
+
+		boolean stale;
+		synchronized (bufferLock) {
+			stale = !buffer.isEmpty() && System.currentTimeMillis() - oldest >= flushMillis;
+		}
+		if (stale) {
+			try {
+				flush();
+			} catch (RemoteException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.worker;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The publish stage of the Worker's pipeline.  Once a slot has computed a task, the work of publishing it, which is uploading
+ * its result file to the TaskSpace, sending its results to the ResultSpace and reporting it complete, is queued here and done
+ * in the background while the slot starts on its next leased task.  The steps of each publication are done in order, and
+ * several tasks may be published at once, as uploading a result file mostly waits on the network.  The queue is bounded, so
+ * slots which compute faster than their results can be published wait for room rather than letting finished tasks pile up
+ * on the Worker.
+ */
+public class ResultPublisher {
+
+	/**
+	 * publishes one finished task
+	 */
+	public interface Publication {
+
+		/**
+		 * publish the task, reporting it failed to the TaskSpace if it cannot be, so that its range is given out again
+		 *
+		 * @throws Exception if the publication was interrupted, in which case it is logged and the task is not reported
+		 */
+		void publish() throws Exception;
+	}
+
+	private ArrayBlockingQueue<Publication> queue;
+	private ExecutorService publishExecutor;
+	private AtomicInteger publishing = new AtomicInteger();
+
+	/**
+	 * @param capacity the most finished tasks waiting to be published before slots wait for room
+	 * @param threads the most tasks published at once
+	 */
+	public ResultPublisher(int capacity, int threads) {
+
+		queue = new ArrayBlockingQueue<Publication>(Math.max(1, capacity));
+		publishExecutor = Executors.newFixedThreadPool(Math.max(1, threads));
+		for (int i = 0; i < Math.max(1, threads); i++) {
+			publishExecutor.submit(publish);
+		}
+	}
+
+	/**
+	 * queue a finished task to be published, waiting for room if the queue is full
+	 *
+	 * @param publication the publication of the task
+	 * @throws InterruptedException if interrupted while waiting for room
+	 */
+	public void publish(Publication publication) throws InterruptedException {
+		queue.put(publication);
+	}
+
+	/**
+	 * @return the number of finished tasks queued or being published
+	 */
+	public int pending() {
+		return queue.size() + publishing.get();
+	}
+
+	/**
+	 * discard the tasks waiting to be published, for example when the job is reset
+	 */
+	public void clear() {
+		queue.clear();
+	}
+
+	/**
+	 * publish finished tasks as they are queued, on each of the publish threads
+	 */
+	private Runnable publish = new Runnable() {
+		public void run() {
+
+			while (!Thread.currentThread().isInterrupted()) {
+				Publication publication;
+				try {
+					publication = queue.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+
+				publishing.incrementAndGet();
+				try {
+					publication.publish();
+				} catch (Exception e) {
+					e.printStackTrace();
+				} finally {
+					publishing.decrementAndGet();
+				}
+			}
+		}
+	};
+
+}
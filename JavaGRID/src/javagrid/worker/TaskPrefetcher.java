@@ -0,0 +1,209 @@
+/*
+ * javaGRID - A Grid-Based, Distributed Processing Framework for Embarrassingly Parallel Problems
+ *  
+ * Submitted as part of a Master's thesis in Advanced Software Engineering
+ *
+ * Author: Alan Suleiman - alan.suleiman@kcl.ac.uk
+ * 
+ * August 2015
+ */
+package javagrid.worker;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javagrid.common.Task;
+import javagrid.interfaces.TaskSpaceInt;
+
+/**
+ * A bounded buffer of tasks leased from the TaskSpace ahead of time.  The buffer is topped up in the background whenever a
+ * task is taken from it, and completed tasks are reported in the background along with a lease for whatever work is
+ * immediately available, so the Worker does not make a round trip to the TaskSpace between tasks.  When the TaskSpace has no
+ * work, the lease request waits on the TaskSpace until work is added, so an idle Worker neither polls nor needs to be notified
+ * of new tasks.  Completions are reported on their own thread, so they are never held up behind a waiting lease request, and
+ * a report which fails is sent again after a pause, so the completion of the last task of a job is not lost.
+ */
+public class TaskPrefetcher {
+
+	// longest time a lease request waits on the TaskSpace for work, in milliseconds
+	private static final long LONG_POLL = 10000;
+
+	// pause before a failed report is sent again, doubling with each failure up to the longest, in milliseconds
+	private static final long REPORT_RETRY = 1000;
+	private static final long REPORT_RETRY_MAX = 30000;
+
+	private TaskSpaceInt taskSpace;
+	private String uuid;
+	private int depth;
+
+	private LinkedBlockingQueue<Task> leasedTasks = new LinkedBlockingQueue<Task>();
+	private ConcurrentLinkedQueue<Task> completedTasks = new ConcurrentLinkedQueue<Task>();
+
+	private ExecutorService leaseExecutor = Executors.newSingleThreadExecutor();
+	private ScheduledExecutorService reportExecutor = Executors.newSingleThreadScheduledExecutor();
+	private AtomicBoolean leaseRequested = new AtomicBoolean(false);
+	private AtomicBoolean reportRequested = new AtomicBoolean(false);
+	private volatile boolean waitingForWork = false;
+	private volatile int generation = 0;
+	private long reportRetry = REPORT_RETRY;
+
+	/**
+	 * @param taskSpace the TaskSpace to lease tasks from
+	 * @param uuid the id of this Worker
+	 * @param depth the number of tasks to keep leased ahead of the one being computed
+	 */
+	public TaskPrefetcher(TaskSpaceInt taskSpace, String uuid, int depth) {
+		this.taskSpace = taskSpace;
+		this.uuid = uuid;
+		this.depth = Math.max(1, depth);
+	}
+
+	/**
+	 * take the next leased task, topping up the buffer in the background.  If the buffer is empty, wait for the refill
+	 *
+	 * @return the next task, or null if no work arrived within the wait
+	 */
+	public Task next() {
+
+		Task theTask = leasedTasks.poll();
+		requestLease();
+
+		if (theTask == null) {
+			try {
+				theTask = leasedTasks.poll(LONG_POLL, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return theTask;
+	}
+
+	/**
+	 * queue a completed task to be reported to the TaskSpace in the background
+	 *
+	 * @param theTask the completed task
+	 * @param status the status of the completed task.  See {@link javagrid.common.Task}
+	 */
+	public void complete(Task theTask, int status) {
+
+		// a task completed after shutdown belonged to the TaskSpace the Worker has left
+		if (reportExecutor.isShutdown()) {
+			return;
+		}
+		theTask.setStatus(status);
+		completedTasks.offer(theTask);
+		if (reportRequested.compareAndSet(false, true)) {
+			reportExecutor.submit(report);
+		}
+	}
+
+	/**
+	 * discard all leased and completed tasks, for example when the job is reset
+	 */
+	public void clear() {
+		generation++;
+		leasedTasks.clear();
+		completedTasks.clear();
+	}
+
+	/**
+	 * discard all leased and completed tasks and stop leasing and reporting, for example when the Worker reattaches to a
+	 * restarted TaskSpace
+	 */
+	public void shutdown() {
+		clear();
+		leaseExecutor.shutdownNow();
+		reportExecutor.shutdownNow();
+	}
+
+	/**
+	 * schedule a lease request, unless one is already waiting to run
+	 */
+	private void requestLease() {
+		if (!leaseExecutor.isShutdown() && leaseRequested.compareAndSet(false, true)) {
+			leaseExecutor.submit(lease);
+		}
+	}
+
+	/**
+	 * lease enough tasks to fill the buffer, waiting on the TaskSpace if it has no work
+	 */
+	private Runnable lease = new Runnable() {
+		public void run() {
+
+			leaseRequested.set(false);
+			int currentGeneration = generation;
+
+			int wanted = depth - leasedTasks.size();
+			if (wanted <= 0) {
+				return;
+			}
+
+			waitingForWork = true;
+			try {
+				List<Task> leased = taskSpace.takeTasks(uuid, wanted, LONG_POLL);
+
+				// tasks leased before a reset belong to the previous job
+				if (currentGeneration == generation) {
+					leasedTasks.addAll(leased);
+				}
+			} catch (RemoteException e) {
+				e.printStackTrace();
+			} finally {
+				waitingForWork = false;
+			}
+		}
+	};
+
+	/**
+	 * report completed tasks, and lease whatever work is immediately available unless a lease request is already waiting
+	 */
+	private Runnable report = new Runnable() {
+		public void run() {
+
+			reportRequested.set(false);
+			int currentGeneration = generation;
+
+			List<Task> completed = new ArrayList<Task>();
+			Task theTask;
+			while ((theTask = completedTasks.poll()) != null) {
+				completed.add(theTask);
+			}
+
+			if (completed.isEmpty()) {
+				return;
+			}
+
+			int wanted = waitingForWork ? 0 : Math.max(0, depth - leasedTasks.size());
+			try {
+				List<Task> leased = taskSpace.completeAndTakeTasks(uuid, completed, wanted, 0);
+				reportRetry = REPORT_RETRY;
+
+				// tasks leased before a reset belong to the previous job
+				if (currentGeneration == generation) {
+					leasedTasks.addAll(leased);
+				}
+			} catch (RemoteException e) {
+				e.printStackTrace();
+
+				// report the completions again after a pause, along with any completed in the meantime
+				if (currentGeneration == generation) {
+					completedTasks.addAll(completed);
+					if (reportRequested.compareAndSet(false, true)) {
+						reportExecutor.schedule(report, reportRetry, TimeUnit.MILLISECONDS);
+					}
+					reportRetry = Math.min(reportRetry * 2, REPORT_RETRY_MAX);
+				}
+			}
+		}
+	};
+
+}
@@ -23,18 +23,25 @@ import java.net.URISyntaxException;
 import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.rmi.NoSuchObjectException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.hyperic.sigar.CpuPerc;
 import org.hyperic.sigar.SigarException;
 import com.healthmarketscience.rmiio.GZIPRemoteInputStream;
@@ -74,6 +81,7 @@ import javagrid.utils.Heartbeat;
 import javagrid.utils.Networking;
 import javagrid.utils.Security;
 import javagrid.utils.ShortUUID;
+import javagrid.utils.StubCache;
 import javagrid.utils.javaGridFile;
 
 /**
@@ -101,6 +109,14 @@ public class WorkerMainApp extends Application implements WorkerInt {
 	private String taskSpaceIP = "127.0.0.1";
 	private int taskSpacePort = 50000;
 	private static TaskSpaceInt taskSpaceCommon;
+	private TaskPrefetcher prefetcher;
+	private int prefetchDepth = 2;
+
+	//finished tasks are published in the background while slots compute their next task.  A publication which fails is
+	//tried again after a pause which doubles each time, and the task reported failed once the attempts run out
+	private ResultPublisher publisher;
+	private static final int PUBLISH_ATTEMPTS = 4;
+	private static final long PUBLISH_BACKOFF = 1000;
 
 	private MasterInt masterCommon;
 	private String masterIP = "127.0.0.1";
@@ -114,43 +130,54 @@ public class WorkerMainApp extends Application implements WorkerInt {
 
 	private ExecutorService opsExecutor;
 
+	//execution slots, each computing one task at a time.  Slots share the job instance, input file and connections
+	private int slotCount = 1;
+	private volatile ExecutionSlot[] slots = new ExecutionSlot[0];
+	private volatile int execution = 0;
+
 	//task parameters
 	private JobInt receivedJob;
-	private Task currentTask;
-	private String fileName;
-	private int startIndex;
-	private int endIndex;
-
-	//termination condition
-	private boolean taskAvailble = false;
-	private static boolean terminate = false;
-	private static boolean terminateImmediate = false;
-	private static boolean terminationRaised = false;
-	private static boolean terminatingWorker;
+
+	//termination condition, read by every slot and the threads computing their items
+	private final Object runSignal = new Object();
+	private static volatile boolean terminate = false;
+	private static volatile boolean terminateImmediate = false;
+	private static final AtomicBoolean terminationRaised = new AtomicBoolean(false);
+	private static volatile boolean terminatingWorker;
 	private boolean paused;
 
 	//job parameters
-	private String jobID;
+	private static String jobID;
 	private Mode jobMode;
 	private DataSource inputSource;
 	private ResultDestination outputDestination;
 	private int pulseInterval = 5;
 	private ScheduledExecutorService pulseTimer;
 	private boolean compressStreams;
+	private boolean parallelItems;
+	private int itemConcurrency;
+
+	//computes the items of tasks in parallel, for every slot, when the job asks for it
+	private ForkJoinPool itemPool;
+
+	//runs many items in flight at once, on virtual threads, for jobs which wait on the network
+	private ItemExecutor itemExecutor;
+	private static final int ITEM_CHUNK = 4096;
+
+	//results for the ResultSpace are sent in batches, once full, once the oldest has waited long enough and at task end
+	private static ResultBuffer resultBuffer;
+	private static final int RESULT_BATCH = 1024;
+	private static final long RESULT_FLUSH = 200;
 
 	private Networking net;
 	private Heartbeat pulse;
 	private DiskManagement diskM;
 	private javaGridFile inputFile;
-	private javaGridFile resultFile;
 	private Security sec;
 
-	//task duration
-	private long startTime;
-	private long endTime;
-	private double taskDuration;
-	private int tasksGrabbed = 0;
-	private int tasksReturned = 0;
+	//task counts, across all slots
+	private AtomicInteger tasksGrabbed = new AtomicInteger();
+	private AtomicInteger tasksReturned = new AtomicInteger();
 
 	private String baseDirectory = getClass().getResource("/javagrid/worker/jobs/").toString().replace("file:/", "");
 
@@ -171,7 +198,7 @@ public class WorkerMainApp extends Application implements WorkerInt {
 		pulseTimer = Executors.newSingleThreadScheduledExecutor();
 	    pulseTimer.scheduleAtFixedRate(sendPulse, 3, pulseInterval, TimeUnit.SECONDS);
 
-	    opsExecutor = Executors.newFixedThreadPool(2);
+	    opsExecutor = Executors.newCachedThreadPool();
 
     }
 
@@ -331,8 +358,10 @@ public class WorkerMainApp extends Application implements WorkerInt {
     @SuppressWarnings("unchecked")
 	public void executeJob(JobInt job) throws RemoteException{
 
-    	//receive the job from the Master, start new FixedThreadPool to run the actual computation
+    	//receive the job from the Master.  Slots of a previous job finish their task and stop
     	receivedJob = job;
+    	execution++;
+    	wakeExecution();
 		opsExecutor.submit(workerExecutionTask);
 
     }
@@ -346,33 +375,106 @@ public class WorkerMainApp extends Application implements WorkerInt {
 			//firstly run initialisation to create working directory, get/generate input files
 			jobInitialisation();
 
+			//then run every slot but the first on its own thread, and the first on this one
+			int currentExecution = execution;
+			ExecutionSlot[] newSlots = new ExecutionSlot[slotCount];
+			for (int i = 0; i < slotCount; i++){
+				newSlots[i] = new ExecutionSlot(i, currentExecution, i == 0 ? inputFile : null);
+			}
+			slots = newSlots;
+			showSlots();
 
-				//user an infinite loop to keep the thread running
-    	    	while(true){
+			for (int i = 1; i < newSlots.length; i++){
+				opsExecutor.submit(newSlots[i]);
+			}
+			return newSlots[0].call();
+		}
 
-    	    		try {
-    	    			//sleep for 1 millisecond to process notifications
-    					Thread.sleep(1);
-    				} catch (InterruptedException e) {
-    					e.printStackTrace();
-    				}
+      };
 
-    	    		//condition check to know that a task is ready and available to be computed.  Call job logic
-    	    		if(taskAvailble ==  true && terminate == false && paused == false){
+    /**
+     * One execution slot of the Worker, which takes tasks from the prefetcher and computes them one at a time.  Several slots
+     * run side by side, so the job class must be safe to call from several threads when more than one slot is configured
+     */
+    private class ExecutionSlot implements Callable<Object> {
+
+    	private int slot;
+    	private int slotExecution;
+    	private javaGridFile slotInput;
+
+    	//the task being computed, and how far through its range the slot is
+    	private volatile Task currentTask;
+    	private String fileName;
+    	private long startIndex;
+    	private long endIndex;
+    	private volatile long position;
+    	private javaGridFile resultFile;
+    	private boolean resultFileWritten;
+    	private long startTime;
 
-    	    			taskAvailble = false;
-    	    			if (getNextTask() == false){
-    	    				continue;
-    	    			}
+    	/**
+    	 * @param slot the number of this slot, from 0
+    	 * @param slotExecution the execution of the job this slot belongs to
+    	 * @param slotInput the input file to read from, or null for the slot to open its own read connection to it
+    	 */
+    	ExecutionSlot(int slot, int slotExecution, javaGridFile slotInput){
+    		this.slot = slot;
+    		this.slotExecution = slotExecution;
+    		this.slotInput = slotInput;
+    	}
+
+		@Override
+		public Object call() throws Exception {
+
+			//each slot reads the shared input file through its own connection, as a connection serves one query at a time.
+			//A connection opened by the slot is closed by it when it exits
+			boolean ownInput = false;
+			if (slotInput == null && (inputSource == DataSource.RUNTIME || inputSource == DataSource.FILE)){
+				slotInput = new javaGridFile(false, baseDirectory, "", jobID);
+				ownInput = true;
+			}
+
+			try {
+				return computeTasks();
+			} finally {
+				if (ownInput){
+					slotInput.closeConnection();
+				}
+			}
+		}
+
+		/**
+		 * compute tasks until a new job is executed
+		 */
+		private Object computeTasks() throws Exception {
+
+				//user an infinite loop to keep the thread running, until a new job is executed
+    	    	while(slotExecution == execution){
+
+    	    		//block, without polling, while the job is paused or terminated
+    	    		awaitRunnable(slotExecution);
+    	    		if (slotExecution != execution){
+    	    			break;
+    	    		}
+
+    	    		//take the next task and call job logic.  The lease request waits on the TaskSpace until work is available
+    	    		if(getNextTask() == true){
 
     	    			//update UI
 	    	  		      Platform.runLater(new Runnable() {
 	    			          @Override
 	    			          public void run() {
-	    			        	  workerMainController.setLblCurrent("Computing the task with range: " + formatNumber(startIndex) + " - " + formatNumber(endIndex));
-	    			        	  workerMainController.setLblGrabbed(String.valueOf(tasksGrabbed));
+	    			        	  if (slots.length == 1){
+	    			        		  workerMainController.setLblCurrent("Computing the task with range: " + formatNumber(startIndex) + " - " + formatNumber(endIndex));
+	    			        	  }else{
+	    			        		  workerMainController.setLblCurrent("Computing tasks on " + busySlots() + " of " + slots.length + " slots");
+	    			        	  }
+	    			        	  workerMainController.setLblGrabbed(String.valueOf(tasksGrabbed.get()));
+	    			        	  workerMainController.setBtnUpdateVisible(false);
+	    			        	  workerMainController.setPiJob(true);
 	    			          }
 	    			      });
+	    	  		      showSlots();
 
 	    	  		      //update thread priority based on UI level selected
         	        	if (priorityInt == 0){
@@ -385,32 +487,43 @@ public class WorkerMainApp extends Application implements WorkerInt {
 
     	    			startTime = System.nanoTime();
 
+    	    			//simple mode, with many items in flight at once while they wait on the network
+    	    			if (jobMode == Mode.SIMPLE && itemExecutor != null){
+
+    	    				computeConcurrent();
+
+    	    			//simple mode, with the items of the task computed in parallel
+    	    			} else if (jobMode == Mode.SIMPLE && parallelItems){
+
+    	    				computeParallel();
+
     	    			//simple, function based mode
-    	    			if (jobMode == Mode.SIMPLE){
+    	    			} else if (jobMode == Mode.SIMPLE){
+
+    			    		//DataSpace inputs are read a block at a time, with the next block read while this one is computed
+    			    		DataSpaceReader reader = null;
+    			    		if (inputSource == DataSource.DATA_SPACE){
+    			    			reader = dataSpaceReader(DataSpaceReader.BLOCK_SIZE);
+    			    		}
 
-    			    		for (int i = startIndex; i <= endIndex; i++){
+    			    		for (long i = startIndex; i <= endIndex; i++){
 
     			    			String diskInput = "";
-    			    			DataResult dataSpaceInput;
     			    			Object result = null;
+    			    			position = i;
 
     			    			//get the input value,pass to job computation method and take the result
     			    	    	if (inputSource == DataSource.RUNTIME || inputSource == DataSource.FILE){
-    			    	    		diskInput = inputFile.readValue(i);
+    			    	    		diskInput = slotInput.readValue(i);
     			    	    		result = receivedJob.computation(diskInput);
     			    	    	} else if (inputSource == DataSource.DATA_SPACE){
-    			    	    		dataSpaceInput = taskSpaceCommon.takeData(i);
-    			    	    		if (dataSpaceInput == null){
-    			    	    			result = receivedJob.computation(null);
-    			    	    		}else{
-    			    	    			result = receivedJob.computation(dataSpaceInput.getTheObject());
-    			    	    		}
+    			    	    		result = receivedJob.computation(reader.read(i));
     			    	    	}
 
     			    	    	//save/send result to correct destination
     			    	    	if (outputDestination == ResultDestination.RESULT_SPACE && result != null){
     			    	    		//check object type here
-    			    	    			taskSpaceCommon.addResult(new DataResult(i, (String) result, result));
+    			    	    			resultBuffer.add(new DataResult(i, (String) result, result));
 
     			    	    	} else if (outputDestination == ResultDestination.FILE){
 
@@ -434,11 +547,15 @@ public class WorkerMainApp extends Application implements WorkerInt {
 
     			    		}
 
+    			    		if (reader != null){
+    			    			reader.close();
+    			    		}
+
     			    		//if outputting to a file, commit all values left in the buffer, and close sql connection
     			    		if (outputDestination == ResultDestination.FILE){
     				    		resultFile.commit();
     				    		resultFile.closeConnection();
-    				    		resultFileReady(currentTask.getID());
+    				    		resultFileWritten = true;
     			    		}
 
     			    	//task based advanced mode.  Complete responsibility passed to user logic in job class
@@ -447,17 +564,468 @@ public class WorkerMainApp extends Application implements WorkerInt {
     	    			if(receivedJob.computation(fileName, startIndex, endIndex)){
 
     	    				//if file used, we return the file to the TaskSpace
-    	    				resultFileReady(currentTask.getID());
+    	    				resultFileWritten = true;
     	    			}
     	    		}//task is complete, lets wrap up
     	    			completedTask();
 
     	    		}
     	    	}
+
+    	    	return null;
 		}
 
-      };
+        /**
+         * compute the items of the current task in parallel, a chunk at a time.  The inputs of a chunk are read, the items
+         * computed across the item pool, and their results then saved or sent in index order.  If the job is terminated or
+         * aborted part way through a chunk, the results are kept up to the first item not computed
+         *
+         * @throws RemoteException RMI calls must throw RemoteException
+         */
+        private void computeParallel() throws RemoteException{
+
+        	ForkJoinPool pool = itemPool();
+        	if (outputDestination == ResultDestination.FILE){
+        		resultFile = new javaGridFile(true, baseDirectory, jobID, fileName);
+        	}
+        	DataSpaceReader reader = inputSource == DataSource.DATA_SPACE ? dataSpaceReader(ITEM_CHUNK) : null;
+
+        	for (long chunkStart = startIndex; chunkStart <= endIndex && !stopItems(); chunkStart = chunkStart + ITEM_CHUNK){
+
+        		int size = (int) Math.min(ITEM_CHUNK, endIndex - chunkStart + 1);
+        		Object[] inputs = new Object[size];
+        		Object[] results = new Object[size];
+        		boolean[] computed = new boolean[size];
+
+        		readInputs(reader, chunkStart, inputs);
 
+        		pool.invoke(new ItemAction(chunkStart, inputs, results, computed, 0, size));
+
+        		//results are collected in index order, up to the first item not computed
+        		for (int i = 0; i < size && computed[i]; i++){
+        			long index = chunkStart + i;
+        			position = index;
+        			Object result = results[i];
+
+	    	    	if (outputDestination == ResultDestination.RESULT_SPACE && result != null){
+	    	    		resultBuffer.add(new DataResult(index, (String) result, result));
+	    	    	} else if (outputDestination == ResultDestination.FILE && result != null){
+	    	    		resultFile.saveValue((String)result);
+	    	    	}
+        		}
+        	}
+
+        	if (reader != null){
+        		reader.close();
+        	}
+
+        	if (stopItems()){
+        		workerMainController.setBtnUpdateVisible(true);
+	    		workerMainController.setPiJob(false);
+        	}
+
+    		//if outputting to a file, commit all values left in the buffer, and close sql connection
+    		if (outputDestination == ResultDestination.FILE){
+	    		resultFile.commit();
+	    		resultFile.closeConnection();
+	    		resultFileWritten = true;
+    		}
+        }
+
+        /**
+         * compute the items of the current task with many in flight at once, a chunk at a time, each on its own virtual
+         * thread, so items whose computation waits on the network overlap their waits.  Results for the ResultSpace are added
+         * to its buffer as soon as they are ready, and results saved to a file are saved in index order once the chunk has
+         * finished, up to the first item not computed
+         *
+         * @throws RemoteException RMI calls must throw RemoteException
+         */
+        private void computeConcurrent() throws RemoteException{
+
+        	ItemExecutor executor = itemExecutor;
+        	if (outputDestination == ResultDestination.FILE){
+        		resultFile = new javaGridFile(true, baseDirectory, jobID, fileName);
+        	}
+        	DataSpaceReader reader = inputSource == DataSource.DATA_SPACE ? dataSpaceReader(ITEM_CHUNK) : null;
+
+        	for (long chunkStart = startIndex; chunkStart <= endIndex && !stopItems(); chunkStart = chunkStart + ITEM_CHUNK){
+
+        		int size = (int) Math.min(ITEM_CHUNK, endIndex - chunkStart + 1);
+        		Object[] inputs = new Object[size];
+        		Object[] results = new Object[size];
+        		boolean[] computed = new boolean[size];
+
+        		readInputs(reader, chunkStart, inputs);
+
+        		long firstIndex = chunkStart;
+        		try {
+					executor.run(firstIndex, results, computed, new ItemExecutor.Item() {
+						public Object compute(long index) throws Exception {
+
+							Object result = receivedJob.computation(inputs[(int) (index - firstIndex)]);
+
+							//the ResultSpace is keyed by index, so results are added as soon as they are ready
+							if (outputDestination == ResultDestination.RESULT_SPACE && result != null){
+								resultBuffer.add(new DataResult(index, (String) result, result));
+							}
+							return result;
+						}
+					}, () -> stopItems());
+				} catch (InterruptedException e) {
+					e.printStackTrace();
+					break;
+				}
+
+        		//results saved to a file are saved in index order, up to the first item not computed
+        		for (int i = 0; i < size && computed[i]; i++){
+        			position = chunkStart + i;
+        			if (outputDestination == ResultDestination.FILE && results[i] != null){
+        				resultFile.saveValue((String)results[i]);
+        			}
+        		}
+        	}
+
+        	if (reader != null){
+        		reader.close();
+        	}
+
+        	if (stopItems()){
+        		workerMainController.setBtnUpdateVisible(true);
+	    		workerMainController.setPiJob(false);
+        	}
+
+    		//if outputting to a file, commit all values left in the buffer, and close sql connection
+    		if (outputDestination == ResultDestination.FILE){
+	    		resultFile.commit();
+	    		resultFile.closeConnection();
+	    		resultFileWritten = true;
+    		}
+        }
+
+        /**
+         * @param blockSize the number of items read from the DataSpace in one call
+         * @return a reader of the current task's range from the DataSpace, which has already started reading its first block
+         */
+        private DataSpaceReader dataSpaceReader(int blockSize){
+        	return new DataSpaceReader(taskSpaceCommon, jobID, startIndex, endIndex, blockSize, opsExecutor);
+        }
+
+        /**
+         * read the inputs of a chunk.  A connection to the input file serves one query at a time, and the DataSpace is read a
+         * chunk per call, so a chunk's inputs are read before it is computed
+         *
+         * @param reader the reader of the DataSpace, for DataSpace jobs
+         * @param chunkStart the index of the first item of the chunk
+         * @param inputs filled with the input of each item of the chunk
+         * @throws RemoteException if the chunk could not be read from the DataSpace
+         */
+        private void readInputs(DataSpaceReader reader, long chunkStart, Object[] inputs) throws RemoteException{
+
+        	for (int i = 0; i < inputs.length; i++){
+        		if (inputSource == DataSource.RUNTIME || inputSource == DataSource.FILE){
+        			inputs[i] = slotInput.readValue(chunkStart + i);
+        		} else if (inputSource == DataSource.DATA_SPACE){
+        			inputs[i] = reader.read(chunkStart + i);
+        		}
+        	}
+        }
+
+        /**
+         * @return true if the items left in the current task should not be computed, as the job has been terminated or
+         * aborted, or a new job executed
+         */
+        private boolean stopItems(){
+        	return terminateImmediate == true || terminatingWorker == true || slotExecution != execution;
+        }
+
+        /**
+         * computes a range of a chunk's items, splitting it in two until it is small enough to compute on one thread
+         */
+        private class ItemAction extends RecursiveAction {
+
+			private static final long serialVersionUID = 1L;
+
+			private long chunkStart;
+        	private transient Object[] inputs;
+        	private transient Object[] results;
+        	private boolean[] computed;
+        	private int from;
+        	private int to;
+
+        	ItemAction(long chunkStart, Object[] inputs, Object[] results, boolean[] computed, int from, int to){
+        		this.chunkStart = chunkStart;
+        		this.inputs = inputs;
+        		this.results = results;
+        		this.computed = computed;
+        		this.from = from;
+        		this.to = to;
+        	}
+
+			@Override
+			protected void compute() {
+
+				//split until each thread of the pool has a few ranges to steal from
+				int threshold = Math.max(1, inputs.length / (itemPool.getParallelism() * 4));
+				if (to - from > threshold){
+					int middle = (from + to) >>> 1;
+					invokeAll(new ItemAction(chunkStart, inputs, results, computed, from, middle),
+							new ItemAction(chunkStart, inputs, results, computed, middle, to));
+					return;
+				}
+
+				for (int i = from; i < to; i++){
+
+					//stop promptly once the job is terminated or aborted, leaving the rest of the range not computed
+					if (stopItems()){
+						return;
+					}
+
+					results[i] = receivedJob.computation(inputs[i]);
+					computed[i] = true;
+				}
+			}
+        }
+
+        /**
+         * take the next task leased from the TaskSpace for this slot
+         *
+         * @return true if a task was taken, false otherwise
+         */
+        private boolean getNextTask(){
+
+				//take the next task leased from the TaskSpace
+				Task theTask = prefetcher.next();
+				//if not empty task, extract details
+				if (theTask != null){
+					theTask.setUuid(uuid);
+					startIndex = theTask.getStartIndex();
+					endIndex = theTask.getEndIndex();
+					fileName = theTask.getRange();
+					position = startIndex;
+					currentTask = theTask;
+					tasksGrabbed.incrementAndGet();
+					return true;
+				}else{
+					//update UI
+					showSlots();
+    	  		      Platform.runLater(new Runnable() {
+    			          @Override
+    			          public void run() {
+    			        	  if (busySlots() == 0){
+    			        		  workerMainController.setLblCurrent("Awaiting available task...");
+    			        	  }
+    			        	  workerMainController.setLblGrabbed(String.valueOf(tasksGrabbed.get()));
+    			          }
+    			      });
+					return false;
+				}
+        }
+
+	      /**
+	       * task completion subroutine.  Work out a duration elapsed and queue the task to be published in the background: its
+	       * result file is uploaded to the TaskSpace, if in file mode, its results are sent to the ResultSpace and then it is
+	       * reported complete
+	     * @throws InterruptedException if interrupted while waiting for room in the publish queue
+	     */
+	    private void completedTask() throws InterruptedException{
+
+	    	double taskDuration = System.nanoTime() - startTime;
+	  		taskDuration = round(taskDuration / 1000000000.0, 2);
+	  		currentTask.setTaskDuration(taskDuration);
+	  		int returned = tasksReturned.incrementAndGet();
+
+	  		Task theTask = currentTask;
+	  		int status = terminateImmediate == true ? 3 : 2;
+	  		boolean collectFile = resultFileWritten;
+	  		ResultBuffer results = resultBuffer;
+	  		TaskPrefetcher taskPrefetcher = prefetcher;
+	  		resultFileWritten = false;
+
+	  		publisher.publish(new ResultPublisher.Publication() {
+	  			public void publish() throws Exception {
+
+	  				//a task which could not be published is reported failed, so the TaskSpace gives its range out again
+	  				int reported = status;
+	  				long backoff = PUBLISH_BACKOFF;
+	  				for (int attempt = 1; ; attempt++){
+	  					try {
+	  						if (collectFile){
+	  							uploadResultFile(theTask.getID(), theTask.getRange());
+	  						}
+
+	  						//the task's results must be in the ResultSpace before its completion is reported
+	  						results.flush();
+	  						break;
+	  					} catch (IOException | RuntimeException e) {
+	  						e.printStackTrace();
+	  						if (attempt == PUBLISH_ATTEMPTS){
+	  							reported = status == 2 ? 1 : status;
+	  							break;
+	  						}
+	  						Thread.sleep(backoff);
+	  						backoff = backoff * 2;
+	  					}
+	  				}
+
+	  				//completion is reported with the next lease request, made in the background
+	  				taskPrefetcher.complete(theTask, reported);
+	  			}
+	  		});
+	  		currentTask = null;
+
+	  			//update UI
+			      Platform.runLater(new Runnable() {
+			          @Override
+			          public void run() {
+			        	workerMainController.setLblReturned(String.valueOf(returned));
+			          }
+			      });
+	      }
+
+	    /**
+	     * @return the fraction of the current task's range computed, or -1 if the slot is idle
+	     */
+	    double progress(){
+
+	    	Task theTask = currentTask;
+	    	if (theTask == null){
+	    		return -1;
+	    	}
+	    	long size = theTask.getEndIndex() - theTask.getStartIndex() + 1;
+	    	return Math.min(1.0, (double) (position - theTask.getStartIndex()) / size);
+	    }
+
+	    /**
+	     * @return the slot's current task and progress through it, for display
+	     */
+	    String describe(){
+
+	    	Task theTask = currentTask;
+	    	if (theTask == null){
+	    		return "Slot " + (slot + 1) + ": idle";
+	    	}
+	    	String range = formatNumber(theTask.getStartIndex()) + " - " + formatNumber(theTask.getEndIndex());
+	    	if (jobMode == Mode.SIMPLE){
+	    		return "Slot " + (slot + 1) + ": " + range + " (" + Math.round(progress() * 100) + "%)";
+	    	}
+	    	return "Slot " + (slot + 1) + ": " + range;
+	    }
+    }
+
+    /**
+     * @return the pool the items of tasks are computed on, shared by every slot so that they use no more threads than there
+     * are cores between them
+     */
+    private synchronized ForkJoinPool itemPool(){
+
+    	if (itemPool == null){
+    		itemPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    	}
+    	return itemPool;
+    }
+
+    /**
+     * set the most items in flight at once across every slot, replacing the executor of a previous job
+     *
+     * @param concurrency the most items in flight, or 0 to compute items on the slots themselves
+     */
+    private synchronized void setItemConcurrency(int concurrency){
+
+    	if (concurrency == itemConcurrency && (concurrency == 0) == (itemExecutor == null)){
+    		return;
+    	}
+    	if (itemExecutor != null){
+    		itemExecutor.shutdown();
+    	}
+    	itemConcurrency = concurrency;
+    	itemExecutor = concurrency > 0 ? new ItemExecutor(concurrency) : null;
+    }
+
+    /**
+     * set the buffer of results for the ResultSpace of the current job, sending any results left of a previous job first
+     */
+    private synchronized void setResultBuffer(){
+
+    	if (resultBuffer != null && resultBuffer.getJobId().equals(jobID)){
+    		return;
+    	}
+    	if (resultBuffer != null){
+    		resultBuffer.close();
+    	}
+    	resultBuffer = new ResultBuffer(() -> taskSpaceCommon, jobID, RESULT_BATCH, RESULT_FLUSH);
+    }
+
+    /**
+     * @return the number of slots computing a task
+     */
+    private int busySlots(){
+
+    	int busy = 0;
+    	for (ExecutionSlot theSlot : slots){
+    		if (theSlot.progress() >= 0){
+    			busy++;
+    		}
+    	}
+    	return busy;
+    }
+
+    /**
+     * @return the progress of each slot through its current task, or -1 for an idle slot
+     */
+    private double[] slotProgress(){
+
+    	ExecutionSlot[] current = slots;
+    	double[] progress = new double[current.length];
+    	for (int i = 0; i < current.length; i++){
+    		progress[i] = current[i].progress();
+    	}
+    	return progress;
+    }
+
+    /**
+     * show the current task and progress of each slot in the UI
+     */
+    private void showSlots(){
+
+    	ExecutionSlot[] current = slots;
+    	List<String> lines = new ArrayList<String>();
+    	for (ExecutionSlot theSlot : current){
+    		lines.add(theSlot.describe());
+    	}
+		Platform.runLater(new Runnable() {
+			@Override
+			public void run() {
+				workerMainController.setSlots(lines);
+			}
+		});
+    }
+
+
+    /**
+     * block an execution slot while the job is paused or terminated, until a notification or a new job wakes it
+     *
+     * @param slotExecution the execution of the job the slot belongs to
+     */
+    private void awaitRunnable(int slotExecution){
+    	synchronized (runSignal){
+    		while ((terminate == true || paused == true) && slotExecution == execution){
+    			try {
+    				runSignal.wait();
+    			} catch (InterruptedException e) {
+    				e.printStackTrace();
+    			}
+    		}
+    	}
+    }
+
+    /**
+     * wake the execution thread to check if the job is paused or terminated
+     */
+    private void wakeExecution(){
+    	synchronized (runSignal){
+    		runSignal.notifyAll();
+    	}
+    }
 
     /**
      * Notify the TaskSpace that a result file is ready for collection
@@ -466,12 +1034,43 @@ public class WorkerMainApp extends Application implements WorkerInt {
      */
     public static void resultFileReady(String fileName){
 			try {
-				taskSpaceCommon.notification(Notification.RESULT_READY, fileName);
+				taskSpaceCommon.notification(jobID, Notification.RESULT_READY, fileName);
 			} catch (RemoteException e) {
 				e.printStackTrace();
 			}
       }
 
+    /**
+     * Stream a result file straight to the TaskSpace, returning once the TaskSpace has it on disk.  A file which could not be
+     * stored is sent again by the publication, and its task reported failed once the attempts run out
+     *
+     * @param taskId the id of the task whose result file it is
+     * @param fileName the name of the file to be sent
+     * @throws IOException if the file could not be read or sent, or the TaskSpace did not store it intact
+     */
+    private void uploadResultFile(String taskId, String fileName) throws IOException{
+
+    	File file = new File(baseDirectory + jobID + "/" + fileName + ".jgf");
+    	long checksum = DiskIO.checksum(file);
+
+    	//the stream is only closed here, as the TaskSpace has read it all once the upload returns
+    	RemoteInputStreamServer istream = null;
+    	try {
+    		if (compressStreams){
+    			istream = new GZIPRemoteInputStream(new BufferedInputStream(new FileInputStream(file)));
+    		}else{
+    			istream = new SimpleRemoteInputStream(new BufferedInputStream(new FileInputStream(file)));
+    		}
+    		if (!taskSpaceCommon.uploadResultFile(jobID, taskId, istream.export(), checksum)){
+    			throw new IOException("The TaskSpace did not store the result file of task " + taskId);
+    		}
+    	} finally {
+    		if (istream != null){
+    			istream.close();
+    		}
+    	}
+    }
+
     /**
      * initialisation method, called at the start of execution to create a working directory if not already one available
      * and then generate/download input file
@@ -533,6 +1132,16 @@ public class WorkerMainApp extends Application implements WorkerInt {
         		receivedJob.initialise(baseDirectory, jobID, inputFile);
         	}
 
+        	//read inputs through a memory mapped index of the input file, rather than with a query for each item
+        	if (inputSource == DataSource.RUNTIME || inputSource == DataSource.FILE){
+  		      Platform.runLater(new Runnable() {
+		          @Override
+		          public void run() {
+		        	  workerMainController.setLblCurrent("Indexing input file...");
+		          }
+		      });
+        		inputFile.index();
+        	}
 
         	if (outputDestination == ResultDestination.RESULT_SPACE){
 
@@ -546,32 +1155,6 @@ public class WorkerMainApp extends Application implements WorkerInt {
         	}
       }
 
-      /**
-       * task completion subroutine.  Work out a duration elapsed and request TaskSpace to collect result file, if in file mode
-     * @throws RemoteException
-     */
-    private void completedTask() throws RemoteException{
-
-  		endTime = System.nanoTime();
-  		taskDuration = (endTime - startTime);
-  		taskDuration = round(taskDuration / 1000000000.0, 2);
-  		currentTask.setTaskDuration(taskDuration);
-  		tasksReturned++;
-  		if (terminateImmediate == true){
-  			taskSpaceCommon.taskComplete(currentTask, 3);
-  		}else{
-  			taskSpaceCommon.taskComplete(currentTask, 2);
-  		}
-  			//update UI
-		      Platform.runLater(new Runnable() {
-		          @Override
-		          public void run() {
-		        	workerMainController.setLblReturned(String.valueOf(tasksReturned));
-		          }
-		      });
-      }
-
-
     /* (non-Javadoc)
      * @see javagrid.interfaces.WorkerInt#jobParameters(javagrid.common.JobParameters)
      */
@@ -579,14 +1162,25 @@ public class WorkerMainApp extends Application implements WorkerInt {
 
     	//update class variables with job parameters received
     	paused = jobParam.getJobPaused();
+    	wakeExecution();
     	jobID = jobParam.getJobId().replace(" ", "");
     	jobMode = jobParam.getJobMode();
     	inputSource = jobParam.getInputSource();
     	outputDestination = jobParam.getOutputDestination();
     	pulseInterval = jobParam.getPulseInterval();
     	compressStreams = jobParam.getCompressSteams();
+    	parallelItems = jobParam.getParallelItems();
+    	setItemConcurrency(jobParam.getItemConcurrency());
+    	setResultBuffer();
 		workerMainController.setLblJobID(jobID);
 
+		//only take tasks of this job from the TaskSpace
+		try {
+			taskSpaceCommon.joinJob(uuid, jobID);
+		} catch (RemoteException e) {
+			e.printStackTrace();
+		}
+
 		//cancel current pulse and executeJob methods and restart with new intervals
 		pulseTimer.shutdownNow();
 		pulseTimer = Executors.newSingleThreadScheduledExecutor();
@@ -692,8 +1286,7 @@ public class WorkerMainApp extends Application implements WorkerInt {
         	masterPort = xmlReader.masterPort;
         	fileServerPort = xmlReader.fileServerPort;
 
-        	Registry masterRegistry = LocateRegistry.getRegistry(masterIP, masterPort);
-        	masterCommon = (MasterInt) masterRegistry.lookup("MasterRMI");
+        	masterCommon = StubCache.getInstance().lookup("Master", masterIP, masterPort, "MasterRMI");
 
         	//authenticate to the Master server
 	    	if (!masterCommon.authenticate(authToken, "Worker", InetAddress.getLocalHost().getHostName())){
@@ -722,13 +1315,13 @@ public class WorkerMainApp extends Application implements WorkerInt {
     public static void terminateJob(boolean terminateInstant){
 
     	try {
-    		if (terminationRaised == true){
+    		//only the first slot to meet the condition raises it
+    		if (terminationRaised.compareAndSet(false, true) == false){
 
     		}else{
-    			terminationRaised = true;
     			terminateImmediate = terminateInstant;
     			terminatingWorker = true;
-        		taskSpaceCommon.raiseTermination(uuid, terminateInstant);
+        		taskSpaceCommon.raiseTermination(jobID, uuid, terminateInstant);
     		}
 
 		} catch (RemoteException e) {
@@ -772,21 +1365,23 @@ public class WorkerMainApp extends Application implements WorkerInt {
     		workerMainController.setPiJob(false);
     		message = "Job aborted!";
 		}else if (type == Notification.RESET){
-			taskAvailble = false;
-			terminationRaised = false;
+			prefetcher.clear();
+			publisher.clear();
+			terminationRaised.set(false);
 			terminate = false;
 			terminateImmediate = false;
 			paused = false;
 			terminatingWorker = false;
 			workerMainController.setBtnUpdateVisible(true);
     		workerMainController.setPiJob(false);
-    		tasksGrabbed = 0;
-    		tasksReturned = 0;
+    		tasksGrabbed.set(0);
+    		tasksReturned.set(0);
 
 		}
 
+		wakeExecution();
+
 		if (type == Notification.NEW_TASK){
-			taskAvailble = true;
     		workerMainController.setBtnUpdateVisible(false);
     		workerMainController.setPiJob(true);
     	}else{
@@ -813,8 +1408,18 @@ public class WorkerMainApp extends Application implements WorkerInt {
             	xmlReader = new WorkerXML(uri.getPath());
     	    	taskSpaceIP= xmlReader.taskSpaceIP;
     	    	taskSpacePort = xmlReader.taskSpacePort;
-    	    	Registry taskSpaceregistry = LocateRegistry.getRegistry(taskSpaceIP, taskSpacePort);
-    	    	taskSpaceCommon = (TaskSpaceInt) taskSpaceregistry.lookup("TaskSpaceRMI");
+    	    	taskSpaceCommon = StubCache.getInstance().lookup("TaskSpace", taskSpaceIP, taskSpacePort, "TaskSpaceRMI");
+    	    	prefetchDepth = xmlReader.prefetch;
+    	    	//one slot unless more are configured, as several slots call the job class from several threads at once.  0 gives one per core
+    	    	slotCount = xmlReader.slots > 0 ? xmlReader.slots : Runtime.getRuntime().availableProcessors();
+    	    	//a prefetcher left from before a reattach is stopped, dropping the tasks it leased from the previous run
+    	    	if (prefetcher != null){
+    	    		prefetcher.shutdown();
+    	    	}
+    	    	prefetcher = new TaskPrefetcher(taskSpaceCommon, uuid, prefetchDepth * slotCount);
+    	    	if (publisher == null){
+    	    		publisher = new ResultPublisher(prefetchDepth * slotCount, prefetchDepth * slotCount);
+    	    	}
 
     	    	//authenticate with the TaskSpace
     	    	if (!taskSpaceCommon.authenticate(authToken, "Worker", InetAddress.getLocalHost().getHostName())){
@@ -855,11 +1460,17 @@ public class WorkerMainApp extends Application implements WorkerInt {
 
 		          }
 		      });
+  		      showSlots();
 
         		try {
-    				taskSpaceCommon.pulse(new Pulse("Worker", uuid, pulse.getJvmTotalMemory(), pulse.getJvmUsed(), pulse.getJvmFree(),
-    						pulse.getUserCPU(), pulse.getSystemCPU(), pulse.getIdleCPU(), pulse.getCombinedCPU(), pulse.getJvmCPU()));
-
+        			Pulse thePulse = new Pulse("Worker", uuid, pulse.getJvmTotalMemory(), pulse.getJvmUsed(), pulse.getJvmFree(),
+    						pulse.getUserCPU(), pulse.getSystemCPU(), pulse.getIdleCPU(), pulse.getCombinedCPU(), pulse.getJvmCPU());
+        			thePulse.setSlotProgress(slotProgress());
+    				taskSpaceCommon.pulse(thePulse);
+
+    			} catch (NoSuchObjectException e) {
+    				//the TaskSpace has restarted, and recovered its jobs from its journal
+    				reattachToTaskSpace();
     			} catch (RemoteException e) {
     				e.printStackTrace();
     			}
@@ -867,39 +1478,20 @@ public class WorkerMainApp extends Application implements WorkerInt {
           };
 
         /**
-         * method for this Worker to connect to the TaskSpace and grab the next available task after notification that one is available
-         *
-         * @return true if a task was grabbed from the TaskSpace, false otherwise
+         * register again with a TaskSpace which has restarted, and rejoin the job.  Tasks leased from the previous run are
+         * dropped, as the TaskSpace has put every task that was in flight back in its retry queue
          */
-        private boolean getNextTask(){
+        private void reattachToTaskSpace(){
 
-    			try {
-    				//request next available task from the TaskSpace
-					currentTask = taskSpaceCommon.takeTask(uuid);
-					//if not empty task, extract details
-					if (currentTask != null){
-						currentTask.setUuid(uuid);
-						startIndex = currentTask.getStartIndex();
-						endIndex = currentTask.getEndIndex();
-						fileName = currentTask.getRange();
-						tasksGrabbed++;
-						return true;
-					}else{
-						//update UI
-	    	  		      Platform.runLater(new Runnable() {
-	    			          @Override
-	    			          public void run() {
-	    			        	  workerMainController.setLblCurrent("Awaiting available task...");
-	    			        	  workerMainController.setLblGrabbed(String.valueOf(tasksGrabbed));
-	    			          }
-	    			      });
-						return false;
-					}
-
-    			} catch (RemoteException e) {
-    				e.printStackTrace();
-    			}
-    			return false;
+        	StubCache.getInstance().invalidate("TaskSpace");
+        	if (connectToTaskSpace() && jobID != null){
+        		try {
+        			taskSpaceCommon.joinJob(uuid, jobID);
+        			System.out.println("Reattached to TaskSpace");
+        		} catch (RemoteException e) {
+        			e.printStackTrace();
+        		}
+        	}
         }
 
         /**
@@ -909,7 +1501,7 @@ public class WorkerMainApp extends Application implements WorkerInt {
          * @throws RemoteException RMI calls must throw RemoteException
          */
         public static void addToResultSpace(DataResult dataReslt) throws RemoteException{
-        	taskSpaceCommon.addResult(dataReslt);
+        	resultBuffer.add(dataReslt);
         }
 
         /* (non-Javadoc)
@@ -1114,9 +1706,9 @@ public class WorkerMainApp extends Application implements WorkerInt {
   		  try {
   			InputStream istream;
   	    	if (gzipCompressedStream){
-  	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile("InputFile", true));
+  	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile(jobID, "InputFile", true));
 	    	}else{
-	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile("InputFile", false));
+	    		istream = RemoteInputStreamClient.wrap(taskSpaceCommon.sendFile(jobID, "InputFile", false));
 	    	}
   	    	DiskIO.copyInputStreamToFile(istream, new File(localFilePath));
 		} catch (IOException e) {